@@ -0,0 +1,135 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.queue;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the positional queue operations of the commands against the {@link LinkedList} the queue used to be
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedTrackQueueBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"linked", "indexed"})
+    private String implementation;
+
+    private LinkedList<AudioTrack> linked;
+    private IndexedTrackQueue indexed;
+    private AudioTrack extra;
+    private int middle;
+
+    @Setup
+    public void setUp() {
+        List<AudioTrack> tracks = TestTracks.tracks(size);
+        linked = new LinkedList<>(tracks);
+        indexed = new IndexedTrackQueue();
+        indexed.addAll(tracks);
+        extra = TestTracks.track(size);
+        middle = size / 2;
+    }
+
+    @Benchmark
+    public AudioTrack get() {
+        return implementation.equals("linked") ? linked.get(middle) : indexed.get(middle);
+    }
+
+    /**
+     * Inserting and removing again keeps the size constant between invocations, like RemoveCommand after a play
+     */
+    @Benchmark
+    public AudioTrack insertAndRemove() {
+        if (implementation.equals("linked")) {
+            linked.add(middle, extra);
+            return linked.remove(middle);
+        }
+        indexed.add(middle, extra);
+        return indexed.remove(middle);
+    }
+
+    /**
+     * MoveCommand, moving a track from the middle of the queue to its front
+     */
+    @Benchmark
+    public void move() {
+        if (implementation.equals("linked"))
+            linked.add(0, linked.remove(middle));
+        else
+            indexed.move(middle, 0);
+    }
+
+    /**
+     * A page of the queue message in the middle of the queue
+     */
+    @Benchmark
+    public void page(Blackhole blackhole) {
+        if (implementation.equals("linked"))
+            blackhole.consume(new ArrayList<>(linked.subList(middle, middle + PAGE_SIZE)));
+        else
+            blackhole.consume(indexed.page(middle, middle + PAGE_SIZE));
+    }
+
+    /**
+     * Skipping to the middle of the queue, on a fresh queue for every invocation
+     */
+    @Benchmark
+    public int skipTo(SkipState state) {
+        if (implementation.equals("linked")) {
+            for (int i = 0; i < middle; i++)
+                state.linked.poll();
+            return state.linked.size();
+        }
+        state.indexed.removeFirst(middle);
+        return state.indexed.size();
+    }
+
+    @State(Scope.Thread)
+    public static class SkipState {
+
+        private LinkedList<AudioTrack> linked;
+        private IndexedTrackQueue indexed;
+
+        @Setup(Level.Invocation)
+        public void setUp(IndexedTrackQueueBenchmark benchmark) {
+            if (benchmark.implementation.equals("linked")) {
+                linked = new LinkedList<>(benchmark.linked);
+            } else {
+                indexed = new IndexedTrackQueue();
+                indexed.addAll(benchmark.linked);
+            }
+        }
+    }
+}
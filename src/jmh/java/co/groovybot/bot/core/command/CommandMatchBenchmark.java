@@ -0,0 +1,192 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.command;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matching messages with {@link AliasTrie} and {@link CommandParser} against lowercasing, splitting and looking up
+ * aliases in a {@link HashMap} as CommandManager did before, over a corpus of chat messages mixed with commands
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandMatchBenchmark {
+
+    private static final String DEFAULT_PREFIX = "g!";
+    private static final String CUSTOM_PREFIX = "grv";
+    private static final String SELF_ID = "404217304734433291";
+    private static final String MENTION = "<@" + SELF_ID + ">";
+    private static final int CORPUS_SIZE = 10000;
+
+    private static final String[][] COMMANDS = {
+            {"play", "p", "add"}, {"skip", "s", "next"}, {"queue", "q"}, {"now", "np", "n", "nowplaying"}, {"volume", "vol", "v"},
+            {"stop"}, {"pause"}, {"resume"}, {"loop", "lp", "repeat"}, {"shuffle", "sh"}, {"seek", "seekto", "sk"},
+            {"lyrics", "ly"}, {"search", "find"}, {"jump", "jumpto", "jp"}, {"remove", "rm"}, {"move", "mv"},
+            {"help", "h", "?"}, {"info", "i", "about"}, {"ping", "latency"}, {"invite", "inv"}, {"prefix", "pr"},
+            {"blacklist", "bl"}, {"playlist", "playlists", "pl"}, {"botchannel", "bc"}, {"vote", "upvote"}
+    };
+    private static final Map<String, String[]> SUB_COMMANDS = new HashMap<>();
+    private static final String[] WORDS = {
+            "hey", "what", "is", "everyone", "doing", "tonight", "lol", "play", "that", "song", "again", "the", "bot",
+            "queue", "is", "so", "long", "skip", "this", "one", "pls", "https://youtu.be/dQw4w9WgXcQ", "g", "!", "ok"
+    };
+
+    static {
+        SUB_COMMANDS.put("blacklist", new String[]{"add", "remove", "rm"});
+        SUB_COMMANDS.put("playlist", new String[]{"load", "l", "play", "save", "delete", "del", "list", "songs"});
+        SUB_COMMANDS.put("botchannel", new String[]{"set", "disable"});
+        SUB_COMMANDS.put("vote", new String[]{"check", "activate"});
+    }
+
+    @Param({"5", "50"})
+    private int commandPercentage;
+
+    private String[] corpus;
+    private final Map<String, String> commandAssociations = new HashMap<>();
+    private final Map<String, Map<String, String>> subCommandAssociations = new HashMap<>();
+    private final AliasTrie<AliasTrie<String>> aliases = new AliasTrie<>();
+
+    @Setup
+    public void setUp() {
+        for (String[] command : COMMANDS) {
+            Map<String, String> subAssociations = new HashMap<>();
+            AliasTrie<String> subAliases = new AliasTrie<>();
+            for (String sub : SUB_COMMANDS.getOrDefault(command[0], new String[0])) {
+                subAssociations.put(sub, sub);
+                subAliases.put(sub, sub);
+            }
+            for (String alias : command) {
+                commandAssociations.put(alias, command[0]);
+                subCommandAssociations.put(alias, subAssociations);
+                aliases.put(alias, subAliases);
+            }
+        }
+
+        Random random = new Random(42);
+        List<String> messages = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++)
+            messages.add(random.nextInt(100) < commandPercentage ? command(random) : chat(random, 3 + random.nextInt(18)));
+        corpus = messages.toArray(new String[0]);
+    }
+
+    private static String command(Random random) {
+        String[] command = COMMANDS[random.nextInt(COMMANDS.length)];
+        String alias = command[random.nextInt(command.length)];
+        if (random.nextInt(10) == 0)
+            alias = alias.toUpperCase();
+
+        StringBuilder message = new StringBuilder();
+        int prefix = random.nextInt(10);
+        if (prefix < 7)
+            message.append(DEFAULT_PREFIX).append(alias);
+        else if (prefix < 9)
+            message.append(MENTION).append(' ').append(alias);
+        else
+            message.append(CUSTOM_PREFIX).append(' ').append(alias);
+
+        String[] subCommands = SUB_COMMANDS.get(command[0]);
+        if (subCommands != null)
+            message.append(' ').append(subCommands[random.nextInt(subCommands.length)]);
+        return message.append(' ').append(chat(random, random.nextInt(4))).toString().trim();
+    }
+
+    private static String chat(Random random, int words) {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < words; i++)
+            message.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        return message.toString();
+    }
+
+    /**
+     * The matching done by CommandManager before AliasTrie, without fetching the guild
+     */
+    private String[] splitAndLookup(String content) {
+        String prefix = null;
+        String lowerCasedContent = content.toLowerCase();
+        if (lowerCasedContent.startsWith(DEFAULT_PREFIX))
+            prefix = DEFAULT_PREFIX;
+        else if (lowerCasedContent.startsWith(MENTION))
+            prefix = MENTION;
+        else if (lowerCasedContent.startsWith(CUSTOM_PREFIX))
+            prefix = CUSTOM_PREFIX;
+        if (prefix == null)
+            return null;
+
+        String beheaded = content.substring(prefix.length()).trim();
+        String[] allArgs = beheaded.split("\\s+");
+        String invocation = allArgs[0].toLowerCase();
+        if (!commandAssociations.containsKey(invocation))
+            return null;
+
+        String[] commandArgs = Arrays.copyOfRange(allArgs, 1, allArgs.length);
+        if (commandArgs.length > 0 && subCommandAssociations.get(invocation).containsKey(commandArgs[0]))
+            return Arrays.copyOfRange(commandArgs, 1, commandArgs.length);
+        return commandArgs;
+    }
+
+    /**
+     * The matching done by CommandManager, without fetching the guild
+     */
+    private String[] trieMatch(String content) {
+        int offset = CommandParser.prefixLength(content, DEFAULT_PREFIX);
+        if (offset == -1)
+            offset = CommandParser.mentionLength(content, SELF_ID);
+        if (offset == -1)
+            offset = CommandParser.prefixLength(content, CUSTOM_PREFIX);
+        if (offset == -1)
+            return null;
+
+        offset = CommandParser.skipWhitespace(content, offset);
+        AliasTrie.Node<AliasTrie<String>> match = aliases.match(content, offset);
+        if (match == null)
+            return null;
+        offset += match.length();
+
+        AliasTrie.Node<String> subMatch = match.getValue().match(content, CommandParser.skipWhitespace(content, offset));
+        if (subMatch != null)
+            offset = CommandParser.skipWhitespace(content, offset) + subMatch.length();
+        return CommandParser.tokenize(content, offset);
+    }
+
+    @Benchmark
+    public void split(Blackhole blackhole) {
+        for (String content : corpus)
+            blackhole.consume(splitAndLookup(content));
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        for (String content : corpus)
+            blackhole.consume(trieMatch(content));
+    }
+}
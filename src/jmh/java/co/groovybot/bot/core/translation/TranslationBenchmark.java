@@ -0,0 +1,86 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.translation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the translations of loading a playlist with MusicPlayer#queueSongs through {@link TranslationLocale#translate(String, Object...)}
+ * against looking the key up in the {@link ResourceBundle} and formatting it with {@link String#format(String, Object...)} as before
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslationBenchmark {
+
+    private static final String KEYWORD = "https://open.spotify.com/playlist/37i9dQZF1DXcBWIGoYBM5M";
+    private static final String PLAYLIST = "Today's Top Hits";
+
+    @Param({"en_US", "zh_TW"})
+    private String language;
+
+    private ResourceBundle bundle;
+    private TranslationLocale locale;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = language.split("_");
+        String fileName = String.format("translation_%s.properties", language);
+        try (InputStream stream = ClassLoader.getSystemClassLoader().getResourceAsStream(fileName)) {
+            bundle = new PropertyResourceBundle(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+        locale = new TranslationLocale(null, new Locale(parts[0], parts[1]), language);
+    }
+
+    private String translate(String key, Object... args) {
+        return String.format(bundle.getString(key), args);
+    }
+
+    @Benchmark
+    public void bundleAndFormat(Blackhole blackhole) {
+        blackhole.consume(bundle.getString("phrases.searching"));
+        blackhole.consume(translate("phrases.searching.description", KEYWORD));
+        blackhole.consume(bundle.getString("phrases.loaded"));
+        blackhole.consume(translate("phrases.loaded.playlist", 50, PLAYLIST));
+        blackhole.consume(translate("phrases.loaded.playlist.duplicates", 47, PLAYLIST, 3, "g!"));
+    }
+
+    @Benchmark
+    public void templates(Blackhole blackhole) {
+        blackhole.consume(locale.translate("phrases.searching"));
+        blackhole.consume(locale.translate("phrases.searching.description", KEYWORD));
+        blackhole.consume(locale.translate("phrases.loaded"));
+        blackhole.consume(locale.translate("phrases.loaded.playlist", 50, PLAYLIST));
+        blackhole.consume(locale.translate("phrases.loaded.playlist.duplicates", 47, PLAYLIST, 3, "g!"));
+    }
+}
@@ -25,6 +25,8 @@ import co.groovybot.bot.core.audio.MusicPlayerManager;
 import co.groovybot.bot.core.audio.playlists.PlaylistManager;
 import co.groovybot.bot.core.audio.sources.spotify.manager.SpotifyManager;
 import co.groovybot.bot.core.cache.Cache;
+import co.groovybot.bot.core.cache.GuildPreloader;
+import co.groovybot.bot.core.cache.TrackResolutionCache;
 import co.groovybot.bot.core.command.CommandManager;
 import co.groovybot.bot.core.command.CommandRegistry;
 import co.groovybot.bot.core.command.interaction.InteractionManager;
@@ -37,14 +39,19 @@ import co.groovybot.bot.core.monitoring.Monitor;
 import co.groovybot.bot.core.monitoring.MonitorManager;
 import co.groovybot.bot.core.monitoring.monitors.*;
 import co.groovybot.bot.core.premium.PremiumHandler;
+import co.groovybot.bot.core.premium.TierRegistry;
+import co.groovybot.bot.core.premium.VoteService;
 import co.groovybot.bot.core.statistics.StatusPage;
 import co.groovybot.bot.core.translation.TranslationManager;
 import co.groovybot.bot.io.FileManager;
+import co.groovybot.bot.io.VoteWebhookServer;
 import co.groovybot.bot.io.WebsocketConnection;
 import co.groovybot.bot.io.config.Configuration;
 import co.groovybot.bot.io.config.ConfigurationSetup;
 import co.groovybot.bot.io.database.DatabaseGenerator;
 import co.groovybot.bot.io.database.PostgreSQL;
+import co.groovybot.bot.io.database.QueryPlanCheck;
+import co.groovybot.bot.io.database.TrackListMigration;
 import co.groovybot.bot.listeners.*;
 import co.groovybot.bot.util.FormatUtil;
 import co.groovybot.bot.util.YoutubeUtil;
@@ -153,6 +160,13 @@ public class GroovyBot implements Closeable {
     @Getter
     private Cache<GroovyUser> userCache;
     @Getter
+    private TrackResolutionCache trackResolutionCache;
+    @Getter
+    private TierRegistry tierRegistry;
+    @Getter
+    private VoteService voteService;
+    private VoteWebhookServer voteWebhookServer;
+    @Getter
     private net.dv8tion.jda.core.entities.Guild supportGuild;
     @Getter
     private boolean allShardsInitialized = false;
@@ -190,30 +204,38 @@ public class GroovyBot implements Closeable {
         instanceName = config.getJSONObject("bot").has("instance") ? config.getJSONObject("bot").getString("instance") : "dev";
 
         // Creating cache
-        guildCache = new Cache<>(GroovyGuild.class);
-        userCache = new Cache<>(GroovyUser.class);
+        guildCache = new Cache<>(GroovyGuild.class, 50000, 60);
+        userCache = new Cache<>(GroovyUser.class, 20000, 30);
 
         if (!noCentralizedLogging)
             Sentry.init(config.getJSONObject("settings").getString("sentry_dsn"));
 
         // Initializing database
         postgreSQL = new PostgreSQL();
+        trackResolutionCache = new TrackResolutionCache(postgreSQL.getDataSource());
 
         // Check for --no-monitoring and initialize InfluxDB if not
         if (!noMonitoring) influxDB = new InfluxDBManager(config).build();
 
         httpClient = new OkHttpClient();
+        youtubeClient = YoutubeUtil.create(this);
         spotifyManager = new SpotifyManager(config.getJSONObject("spotify").getString("client_id"), config.getJSONObject("spotify").getString("client_secret"));
         lavalinkManager = new LavalinkManager(this);
         statusPage = new StatusPage(httpClient, config.getJSONObject("statuspage"));
 
         // Generating tables
         new DatabaseGenerator(postgreSQL);
+        new TrackListMigration(postgreSQL.getDataSource()).migrate();
+        new QueryPlanCheck(postgreSQL.getDataSource()).run();
+        trackResolutionCache.warmUp();
+        tierRegistry = new TierRegistry();
+        tierRegistry.load(postgreSQL.getDataSource());
+        initVotes();
 
         commandManager = new CommandManager(config.getJSONObject("settings").getString("prefix"), this);
         interactionManager = new InteractionManager();
         eventWaiter = new EventWaiter();
-        premiumHandler = new PremiumHandler();
+        premiumHandler = new PremiumHandler(tierRegistry);
 
         // Initializing shardmanager
         initShardManager();
@@ -221,7 +243,6 @@ public class GroovyBot implements Closeable {
         musicPlayerManager = new MusicPlayerManager();
         translationManager = new TranslationManager();
         playlistManager = new PlaylistManager(postgreSQL.getDataSource());
-        youtubeClient = YoutubeUtil.create(this);
         geniusClient = new GeniusClient(config.getJSONObject("genius").getString("token"));
         new CommandRegistry(commandManager);
     }
@@ -274,6 +295,7 @@ public class GroovyBot implements Closeable {
                         new BlacklistWatcher(guildCache),
                         new AutoPauseListener(),
                         new GuildLeaveListener(),
+                        new PremiumGuildListener(tierRegistry),
                         new AutoJoinExecutor(this),
                         new AutoQueueListener(this),
                         commandManager,
@@ -301,6 +323,20 @@ public class GroovyBot implements Closeable {
         }
     }
 
+    private void initVotes() {
+        JSONObject votes = config.getJSONObject("votes");
+        String token = config.has("botlists") && config.getJSONObject("botlists").has("DiscordBotsORG") ? config.getJSONObject("botlists").getString("DiscordBotsORG") : null;
+        voteService = new VoteService(postgreSQL.getDataSource(), httpClient, votes, token);
+        voteService.load();
+
+        if (votes.getInt("webhook_port") > 0)
+            try {
+                voteWebhookServer = new VoteWebhookServer(voteService, votes.getInt("webhook_port"), votes.optString("webhook_secret", null));
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("[VoteWebhook] Error while starting vote webhook!", e);
+            }
+    }
+
     private void initLogger(CommandLine args) throws IOException {
         Configurator.setRootLevel(Level.toLevel(args.getOptionValue("log-level", "INFO")));
         Configurator.initialize(ClassLoader.getSystemClassLoader(), new ConfigurationSource(Objects.requireNonNull(ClassLoader.getSystemResourceAsStream("log4j2.xml"))));
@@ -309,13 +345,16 @@ public class GroovyBot implements Closeable {
     @SubscribeEvent
     @SuppressWarnings("unused")
     private void onReady(AllShardsLoadedEvent event) {
+        // Loading the settings of all guilds at once
+        new GuildPreloader(postgreSQL.getDataSource(), guildCache).preloadAsync(shardManager);
+
         // Initializing gameanimator
         new GameAnimator(this);
 
         // Initializing players
         try {
             musicPlayerManager.initPlayers(noJoin);
-        } catch (SQLException | IOException e) {
+        } catch (SQLException e) {
             log.error("[MusicPlayerManager] Error while initializing MusicPlayers!", e);
         }
 
@@ -362,7 +401,7 @@ public class GroovyBot implements Closeable {
             monitorManager = new MonitorManager(influxDB);
             Monitor msgMonitor = new MessageMonitor();
             shardManager.addEventListener(msgMonitor);
-            monitorManager.register(new SystemMonitor(), new GuildMonitor(), new RequestMonitor(), msgMonitor, new UserMonitor());
+            monitorManager.register(new SystemMonitor(), new GuildMonitor(), new RequestMonitor(), msgMonitor, new UserMonitor(), new PlayerMonitor(), new TrackResolutionMonitor(), new EntityCacheMonitor("guilds", guildCache), new EntityCacheMonitor("users", userCache), new DatabaseMonitor(), new CommandExecutorMonitor());
             monitorManager.start();
             log.info("[MonitoringManager] Monitoring started!");
         }
@@ -377,6 +416,20 @@ public class GroovyBot implements Closeable {
         try {
             if (commandManager != null)
                 commandManager.close();
+            if (voteWebhookServer != null)
+                voteWebhookServer.close();
+            if (musicPlayerManager != null)
+                musicPlayerManager.getCheckpointer().close();
+            if (playlistManager != null) {
+                playlistManager.getLeaderboard().close();
+                playlistManager.getPlayCounter().close();
+            }
+            if (trackResolutionCache != null)
+                trackResolutionCache.close();
+            if (guildCache != null)
+                guildCache.close();
+            if (userCache != null)
+                userCache.close();
             if (postgreSQL != null)
                 postgreSQL.close();
             if (shardManager != null)
@@ -51,7 +51,7 @@ public class HelpCommand extends Command {
         EmbedBuilder builder = new EmbedBuilder()
                 .setTitle(event.translate("command.help.title"), "https://groovybot.co")
                 .setColor(Colors.DARK_BUT_NOT_BLACK)
-                .setDescription(String.format(event.translate("command.help.description"), EntityProvider.getGuild(event.getGuild().getIdLong()).getPrefix()));
+                .setDescription(event.translate("command.help.description", EntityProvider.getGuild(event.getGuild().getIdLong()).getPrefix()));
         for (CommandCategory commandCategory : CommandCategory.class.getEnumConstants()) {
             String formattedCategory = formatCategory(commandCategory, event.getBot().getCommandManager());
             if (!"".equals(formattedCategory))
@@ -35,7 +35,7 @@ public class InfoCommand extends Command {
     public Result run(String[] args, CommandEvent event) {
         String prefix = EntityProvider.getGuild(event.getGuild().getIdLong()).getPrefix();
         return send(
-                info(event.translate("command.info.title"), String.format(event.translate("command.info.description"), prefix, prefix, prefix))
+                info(event.translate("command.info.title"), event.translate("command.info.description", prefix, prefix, prefix))
                         .addField(event.translate("command.info.invite"), "[invite.groovybot.co](https://invite.groovybot.co)", true)
                         .addField(event.translate("command.info.support"), "[support.groovybot.co](https://discord.gg/5s5TsW2)", true)
                         .addField(event.translate("command.info.donate"), "[donate.groovybot.co](https://donate.groovybot.co)", true)
@@ -37,6 +37,6 @@ public class PremiumCommand extends Command {
         String tier = PremiumUtil.getTier(event.getBot().getShardManager().getGuildById(403882830225997825L).getMember(event.getAuthor()), event.getBot().getShardManager().getGuildById(403882830225997825L)).toString();
         if (tier.equalsIgnoreCase("none"))
             return send(small(event.translate("command.premium.none")));
-        return send(small(String.format(event.translate("command.premium"), tier.toLowerCase())));
+        return send(small(event.translate("command.premium", tier.toLowerCase())));
     }
 }
@@ -31,7 +31,7 @@ public class ShardCommand extends Command {
 
     @Override
     public Result run(String[] args, CommandEvent event) {
-        return send(small(String.format(event.translate("command.shard"), event.getJDA().getShardInfo().getShardId() + 1)));
+        return send(small(event.translate("command.shard", event.getJDA().getShardInfo().getShardId() + 1)));
     }
 
     private class ListCommand extends SubCommand {
@@ -44,7 +44,7 @@ public class ShardCommand extends Command {
         public Result run(String[] args, CommandEvent event) {
             int up = event.getBot().getShardManager().getShardsRunning();
             int down = event.getBot().getShardManager().getShardsTotal() - event.getBot().getShardManager().getShardsRunning();
-            return send(small(String.format(event.translate("command.shard.list"), down, up)));
+            return send(small(event.translate("command.shard.list", down, up)));
         }
     }
 }
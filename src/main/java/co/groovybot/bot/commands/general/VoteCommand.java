@@ -50,9 +50,9 @@ public class VoteCommand extends Command {
             if (PremiumManager.hasAlreadyVoted(groovyUser))
                 return send(error(event.translate("phrases.error"), event.translate("command.vote.already")));
             if (!PremiumManager.isAbleToVote(groovyUser))
-                return send(error(event.translate("phrases.error"), String.format(event.translate("command.vote.forbidden"), FormatUtil.formatDuration(PremiumManager.getVoteAgainIn(event.getGroovyUser())))));
+                return send(error(event.translate("phrases.error"), event.translate("command.vote.forbidden", FormatUtil.formatDuration(PremiumManager.getVoteAgainIn(event.getGroovyUser())))));
             PremiumManager.givePremium(groovyUser);
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.vote.success"), "1h")));
+            return send(success(event.translate("phrases.success"), event.translate("command.vote.success", "1h")));
         }
     }
 }
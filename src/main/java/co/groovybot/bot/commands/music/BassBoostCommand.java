@@ -39,7 +39,7 @@ public class BassBoostCommand extends SameChannelCommand {
             return send(error(event.translate("phrases.notplaying.title"), event.translate("phrases.notplaying.description")));
 
         if (args.length == 0)
-            return send(EmbedUtil.info(event.translate("command.bassboost.info.title"), String.format(event.translate("command.bassboost.info.description"), player.getBassboost())));
+            return send(EmbedUtil.info(event.translate("command.bassboost.info.title"), event.translate("command.bassboost.info.description", player.getBassboost())));
 
         float[] bands = new float[15];
         switch (args[0]) {
@@ -69,6 +69,6 @@ public class BassBoostCommand extends SameChannelCommand {
         String current = player.getBassboost();
         player.getPlayer().getEqualizer().setGain(bands);
         player.setBassboost(args[0]);
-        return send(EmbedUtil.success(event.translate("command.bassboost.title"), String.format(event.translate("command.bassboost.description"), current, player.getBassboost())));
+        return send(EmbedUtil.success(event.translate("command.bassboost.title"), event.translate("command.bassboost.description", current, player.getBassboost())));
     }
 }
@@ -29,7 +29,6 @@ import co.groovybot.bot.core.command.Result;
 import co.groovybot.bot.core.command.interaction.InteractableMessage;
 import co.groovybot.bot.core.command.permission.Permissions;
 import co.groovybot.bot.core.command.voice.SameChannelCommand;
-import co.groovybot.bot.core.entity.EntityProvider;
 import co.groovybot.bot.util.*;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
@@ -148,7 +147,7 @@ public class ControlCommand extends SameChannelCommand {
                     if (!playerScheduler.isLoop() && !playerScheduler.isLoopqueue())
                         playerScheduler.setLoop(true);
                     else if (playerScheduler.isLoop()) {
-                        if (Permissions.tierOne().isCovered(EntityProvider.getUser(this.commandEvent.getAuthor().getIdLong()).getPermissions(), this.commandEvent))
+                        if (Permissions.tierOne().isCovered(this.commandEvent.getPermissions(), this.commandEvent))
                             playerScheduler.setLoopqueue(true);
                         playerScheduler.setLoop(false);
                     } else if (playerScheduler.isLoopqueue())
@@ -71,6 +71,6 @@ public class JumpCommand extends SameChannelCommand {
         if (position > player.getPlayer().getPlayingTrack().getDuration())
             return send(info(event.translate("phrases.skipped"), event.translate("command.jump.skipped")));
 
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.jump"), FormatUtil.formatTimestamp(current), FormatUtil.formatTimestamp(position))));
+        return send(success(event.translate("phrases.success"), event.translate("command.jump", FormatUtil.formatTimestamp(current), FormatUtil.formatTimestamp(position))));
     }
 }
@@ -38,6 +38,6 @@ public class LeaveCommand extends SameChannelCommand {
             return send(error(event.translate("phrases.nopermission"), "You are not allowed to let Groovy disconnect from this channel!"));
         player.setPreviousTrack(player.getPlayer().getPlayingTrack());
         player.leave();
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.leave"), event.getMember().getVoiceState().getChannel().getName())));
+        return send(success(event.translate("phrases.success"), event.translate("command.leave", event.getMember().getVoiceState().getChannel().getName())));
     }
 }
@@ -44,7 +44,7 @@ public class LoopCommand extends SameChannelCommand {
             scheduler.setLoop(true);
             return send(small(event.translate("command.loop.song")));
         } else if (scheduler.isLoop()) {
-            if (!Permissions.tierOne().isCovered(event.getGroovyUser().getPermissions(), event)) {
+            if (!Permissions.tierOne().isCovered(event.getPermissions(), event)) {
                 scheduler.setLoop(false);
                 return send(small(event.translate("command.loop.none")));
             } else {
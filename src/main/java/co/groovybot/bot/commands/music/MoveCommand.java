@@ -28,8 +28,6 @@ import co.groovybot.bot.core.command.voice.SameChannelCommand;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import net.dv8tion.jda.core.utils.Helpers;
 
-import java.util.LinkedList;
-
 public class MoveCommand extends SameChannelCommand {
 
     public MoveCommand() {
@@ -53,15 +51,13 @@ public class MoveCommand extends SameChannelCommand {
         if (songPos == wantPos)
             return send(error(event.translate("phrases.error"), event.translate("phrases.error.samenumbers")));
 
-        LinkedList<AudioTrack> trackQueue = (LinkedList<AudioTrack>) player.getTrackQueue();
-
         int songPosIndex = songPos - 1;
         int wantPosIndex = wantPos - 1;
 
-        AudioTrack preSave = trackQueue.get(songPosIndex);
-        trackQueue.remove(songPosIndex);
-        trackQueue.add(wantPosIndex, preSave);
+        AudioTrack preSave = player.getTrackQueue().get(songPosIndex);
+        player.getTrackQueue().move(songPosIndex, wantPosIndex);
+        player.save();
 
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.move"), preSave.getInfo().title, wantPos)));
+        return send(success(event.translate("phrases.success"), event.translate("command.move", preSave.getInfo().title, wantPos)));
     }
 }
@@ -85,16 +85,17 @@ public class PlaylistCommand extends Command {
                 GroovyPlaylist groovyPlaylist = groovyUser.getPlaylists().get(name.toLowerCase());
                 player.queueTracks(groovyPlaylist.getSongs().toArray(new AudioTrack[0]));
                 groovyPlaylist.increaseCount();
-                return send(success(event.translate("command.playlist.loaded.title"), String.format(event.translate("command.playlist.loaded.description"), groovyPlaylist.getName())));
+                return send(success(event.translate("command.playlist.loaded.title"), event.translate("command.playlist.loaded.description", groovyPlaylist.getName())));
             } else {
-                if (Helpers.isNumeric(args[0]))
-                    if (event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0])) != null)
-                        if (event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0])).isPublic()) {
-                            GroovyPlaylist groovyPlaylist = event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0]));
+                if (Helpers.isNumeric(args[0])) {
+                    GroovyPlaylist groovyPlaylist = event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0]));
+                    if (groovyPlaylist != null)
+                        if (groovyPlaylist.isPublic()) {
                             player.queueTracks(groovyPlaylist.getSongs().toArray(new AudioTrack[0]));
                             groovyPlaylist.increaseCount();
-                            return send(success(event.translate("command.playlist.loaded.title"), String.format(event.translate("command.playlist.loaded.description"), groovyPlaylist.getName())));
+                            return send(success(event.translate("command.playlist.loaded.title"), event.translate("command.playlist.loaded.description", groovyPlaylist.getName())));
                         }
+                }
 
                 GroovyUser groovyUser = event.getGroovyUser();
                 String name = args[0];
@@ -105,7 +106,7 @@ public class PlaylistCommand extends Command {
                 GroovyPlaylist groovyPlaylist = groovyUser.getPlaylists().get(name.toLowerCase());
                 player.queueTracks(groovyPlaylist.getSongs().toArray(new AudioTrack[0]));
                 groovyPlaylist.increaseCount();
-                return send(success(event.translate("command.playlist.loaded.title"), String.format(event.translate("command.playlist.loaded.description"), groovyPlaylist.getName())));
+                return send(success(event.translate("command.playlist.loaded.title"), event.translate("command.playlist.loaded.description", groovyPlaylist.getName())));
             }
         }
     }
@@ -143,7 +144,7 @@ public class PlaylistCommand extends Command {
                     .limit(10)
                     .collect(Collectors.toList());
             GroovyPlaylist groovyPlaylist = event.getBot().getPlaylistManager().createPlaylist(name, groovyUser.getEntityId(), tracks);
-            return send(success(event.translate("command.playlist.created.title"), String.format(event.translate("command.playlist.created.description"), groovyPlaylist.getName())));
+            return send(success(event.translate("command.playlist.created.title"), event.translate("command.playlist.created.description", groovyPlaylist.getName())));
         }
     }
 
@@ -165,7 +166,7 @@ public class PlaylistCommand extends Command {
                 return send(error(event.translate("command.playlist.not.exists.title"), event.translate("command.playlist.not.exists.description")));
 
             event.getBot().getPlaylistManager().deletePlaylist(name, groovyUser.getEntityId());
-            return send(success(event.translate("command.playlist.deleted.title"), String.format(event.translate("command.playlist.deleted.description"), name)));
+            return send(success(event.translate("command.playlist.deleted.title"), event.translate("command.playlist.deleted.description", name)));
         }
     }
 
@@ -191,7 +192,7 @@ public class PlaylistCommand extends Command {
                 return send(error(event.translate("command.playlist.not.exists.title"), event.translate("command.playlist.not.exists.description")));
 
             groovyUser.getPlaylists().get(name).setName(newName);
-            return send(success(event.translate("command.playlist.renamed.title"), String.format(event.translate("command.playlist.renamed.description"), name, newName)));
+            return send(success(event.translate("command.playlist.renamed.title"), event.translate("command.playlist.renamed.description", name, newName)));
         }
     }
 
@@ -213,14 +214,14 @@ public class PlaylistCommand extends Command {
             if (!groovyUser.getPlaylists().containsKey(name))
                 return send(error(event.translate("command.playlist.not.exists.title"), event.translate("command.playlist.not.exists.description")));
 
-            if (groovyUser.getPlaylists().get(name).getSongs().size() >= 10)
+            if (groovyUser.getPlaylists().get(name).getTrackCount() >= 10)
                 return send(error(event.translate("command.playlist.tomanysongs.title"), event.translate("command.playlist.tomanysongs.description")));
 
             player.getAudioPlayerManager().loadItem(track, new AudioLoadResultHandler() {
                 @Override
                 public void trackLoaded(AudioTrack track) {
                     groovyUser.getPlaylists().get(name).addTrack(track);
-                    SafeMessage.sendMessage(event.getChannel(), success(event.translate("command.playlist.added.title"), String.format(event.translate("command.playlist.added.description"), track.getInfo().title, groovyUser.getPlaylists().get(name).getName())));
+                    SafeMessage.sendMessage(event.getChannel(), success(event.translate("command.playlist.added.title"), event.translate("command.playlist.added.description", track.getInfo().title, groovyUser.getPlaylists().get(name).getName())));
                 }
 
                 @Override
@@ -229,7 +230,7 @@ public class PlaylistCommand extends Command {
                         SafeMessage.sendMessage(event.getChannel(), error(event.translate("phrases.nothingfound"), event.translate("phrases.searching.nomatches")));
                     else {
                         groovyUser.getPlaylists().get(name).addTrack(audioPlaylist.getTracks().get(0));
-                        SafeMessage.sendMessage(event.getChannel(), success(event.translate("command.playlist.added.title"), String.format(event.translate("command.playlist.added.description"), audioPlaylist.getTracks().get(0).getInfo().title, groovyUser.getPlaylists().get(name).getName())));
+                        SafeMessage.sendMessage(event.getChannel(), success(event.translate("command.playlist.added.title"), event.translate("command.playlist.added.description", audioPlaylist.getTracks().get(0).getInfo().title, groovyUser.getPlaylists().get(name).getName())));
                     }
                 }
 
@@ -269,14 +270,14 @@ public class PlaylistCommand extends Command {
             if (!groovyUser.getPlaylists().containsKey(name.toLowerCase()))
                 return send(error(event.translate("command.playlist.not.exists.title"), event.translate("command.playlist.not.exists.description")));
 
-            if (groovyUser.getPlaylists().get(name).getSongs().size() < track)
+            if (groovyUser.getPlaylists().get(name).getTrackCount() < track)
                 return send(error(event.translate("phrase.invalid"), event.translate("phrases.invalid.number")));
 
             String trackName = groovyUser.getPlaylists().get(name).getSongs().get(track - 1).getInfo().title;
             String playlistName = groovyUser.getPlaylists().get(name).getName();
 
             groovyUser.getPlaylists().get(name).removeTrack(track - 1);
-            return send(success(event.translate("command.playlist.removed.title"), String.format(event.translate("command.playlist.removed.description"), trackName, playlistName)));
+            return send(success(event.translate("command.playlist.removed.title"), event.translate("command.playlist.removed.description", trackName, playlistName)));
         }
     }
 
@@ -295,13 +296,13 @@ public class PlaylistCommand extends Command {
                     return send(error(event.translate("command.playlist.nolist.title"), event.translate("command.playlist.nolist.description")));
 
                 EmbedBuilder builder = new EmbedBuilder()
-                        .setDescription(String.format("**%s**", String.format(event.translate("command.playlist.list.title"), event.getMessage().getMentionedMembers().get(0).getUser().getName() + "'s")))
+                        .setDescription(String.format("**%s**", event.translate("command.playlist.list.title", event.getMessage().getMentionedMembers().get(0).getUser().getName() + "'s")))
                         .setColor(Colors.DARK_BUT_NOT_BLACK)
                         .setFooter(String.format("%s Playlists", groovyUser.getPlaylists().size()), event.getAuthor().getAvatarUrl());
 
                 groovyUser.getPlaylists().forEach((name, groovyPlaylist) -> {
                     if (groovyPlaylist.isPublic())
-                        builder.addField(String.format("%s **%s**", "\uD83D\uDD13", groovyPlaylist.getName()), String.format(" - Includes **%s** songs\n - Loaded **%s** times\n - ID: `%s`", groovyPlaylist.getSongs().size(), groovyPlaylist.getCount(), groovyPlaylist.getId()), false);
+                        builder.addField(String.format("%s **%s**", "\uD83D\uDD13", groovyPlaylist.getName()), String.format(" - Includes **%s** songs\n - Loaded **%s** times\n - ID: `%s`", groovyPlaylist.getTrackCount(), groovyPlaylist.getCount(), groovyPlaylist.getId()), false);
                 });
                 return send(builder);
 
@@ -312,11 +313,11 @@ public class PlaylistCommand extends Command {
                     return send(error(event.translate("command.playlist.nolist.title"), event.translate("command.playlist.nolist.description")));
 
                 EmbedBuilder builder = new EmbedBuilder()
-                        .setDescription(String.format("**%s**", String.format(event.translate("command.playlist.list.title"), "your")))
+                        .setDescription(String.format("**%s**", event.translate("command.playlist.list.title", "your")))
                         .setColor(Colors.DARK_BUT_NOT_BLACK)
                         .setFooter(String.format("%s Playlists", groovyUser.getPlaylists().size()), event.getAuthor().getAvatarUrl());
 
-                groovyUser.getPlaylists().forEach((name, groovyPlaylist) -> builder.addField(String.format("%s **%s**", groovyPlaylist.isPublic() ? "\uD83D\uDD13" : "\uD83D\uDD12", groovyPlaylist.getName()), String.format(" - Includes **%s** songs\n - Loaded **%s** times\n - ID: `%s`", groovyPlaylist.getSongs().size(), groovyPlaylist.getCount(), groovyPlaylist.getId()), false));
+                groovyUser.getPlaylists().forEach((name, groovyPlaylist) -> builder.addField(String.format("%s **%s**", groovyPlaylist.isPublic() ? "\uD83D\uDD13" : "\uD83D\uDD12", groovyPlaylist.getName()), String.format(" - Includes **%s** songs\n - Loaded **%s** times\n - ID: `%s`", groovyPlaylist.getTrackCount(), groovyPlaylist.getCount(), groovyPlaylist.getId()), false));
                 return send(builder);
             }
         }
@@ -350,16 +351,18 @@ public class PlaylistCommand extends Command {
                 final List<AudioTrack> songs = groovyUser.getPlaylists().get(name.toLowerCase()).getSongs();
                 songs.forEach(track -> System.out.println(track.getInfo().title));
                 songs.forEach(track -> tracks.append(String.format("▫ `%s.` [%s](%s) - %s", songs.indexOf(track) + 1, track.getInfo().title, track.getInfo().uri, track.getInfo().author)).append("\n"));
-                return send(info(String.format(event.translate("command.playlist.songs.title"), groovyUser.getPlaylists().get(name.toLowerCase()).getName()), tracks.toString()));
+                return send(info(event.translate("command.playlist.songs.title", groovyUser.getPlaylists().get(name.toLowerCase()).getName()), tracks.toString()));
             } else {
-                if (Helpers.isNumeric(args[0]))
-                    if (event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0])) != null)
-                        if (event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0])).isPublic()) {
+                if (Helpers.isNumeric(args[0])) {
+                    GroovyPlaylist groovyPlaylist = event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0]));
+                    if (groovyPlaylist != null)
+                        if (groovyPlaylist.isPublic()) {
                             StringBuilder tracks = new StringBuilder();
-                            final List<AudioTrack> songs = event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0])).getSongs();
+                            final List<AudioTrack> songs = groovyPlaylist.getSongs();
                             songs.forEach(track -> tracks.append(String.format("▫ `%s.` [%s](%s) - %s", songs.indexOf(track) + 1, track.getInfo().title, track.getInfo().uri, track.getInfo().author)).append("\n"));
-                            return send(info(String.format(event.translate("command.playlist.songs.title"), event.getBot().getPlaylistManager().getPlaylistById(Long.parseLong(args[0])).getName()), tracks.toString()));
+                            return send(info(event.translate("command.playlist.songs.title", groovyPlaylist.getName()), tracks.toString()));
                         }
+                }
 
                 GroovyUser groovyUser = event.getGroovyUser();
                 String name = args[0];
@@ -370,7 +373,7 @@ public class PlaylistCommand extends Command {
                 StringBuilder tracks = new StringBuilder();
                 final List<AudioTrack> songs = groovyUser.getPlaylists().get(name.toLowerCase()).getSongs();
                 songs.forEach(track -> tracks.append(String.format("▫ `%s.` [%s](%s) - %s", songs.indexOf(track) + 1, track.getInfo().title, track.getInfo().uri, track.getInfo().author)).append("\n"));
-                return send(info(String.format(event.translate("command.playlist.songs.title"), groovyUser.getPlaylists().get(name.toLowerCase()).getName()), tracks.toString()));
+                return send(info(event.translate("command.playlist.songs.title", groovyUser.getPlaylists().get(name.toLowerCase()).getName()), tracks.toString()));
             }
         }
     }
@@ -396,7 +399,7 @@ public class PlaylistCommand extends Command {
                 return send(error(event.translate("command.playlist.not.exists.title"), event.translate("command.playlist.not.exists.description")));
 
             groovyUser.getPlaylists().get(name.toLowerCase()).setPublic(!groovyUser.getPlaylists().get(name.toLowerCase()).isPublic());
-            return send(success(event.translate("command.playlist.setpublic.title"), String.format(event.translate("command.playlist.setpublic.description"), groovyUser.getPlaylists().get(name.toLowerCase()).getName(), groovyUser.getPlaylists().get(name.toLowerCase()).isPublic() ? "public" : "private")));
+            return send(success(event.translate("command.playlist.setpublic.title"), event.translate("command.playlist.setpublic.description", groovyUser.getPlaylists().get(name.toLowerCase()).getName(), groovyUser.getPlaylists().get(name.toLowerCase()).isPublic() ? "public" : "private")));
         }
     }
 }
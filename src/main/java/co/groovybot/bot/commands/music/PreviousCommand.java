@@ -25,9 +25,6 @@ import co.groovybot.bot.core.command.CommandEvent;
 import co.groovybot.bot.core.command.Result;
 import co.groovybot.bot.core.command.permission.Permissions;
 import co.groovybot.bot.core.command.voice.SameChannelCommand;
-import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
-
-import java.util.LinkedList;
 
 public class PreviousCommand extends SameChannelCommand {
     public PreviousCommand() {
@@ -39,7 +36,8 @@ public class PreviousCommand extends SameChannelCommand {
         if (player.getPreviousTrack() == null)
             return send(error(event.translate("phrases.error"), event.translate("command.previous.notrack")));
 
-        ((LinkedList<AudioTrack>) player.getTrackQueue()).addFirst(player.getPlayer().getPlayingTrack());
+        player.getTrackQueue().addFirst(player.getPlayer().getPlayingTrack());
+        player.save();
 
         player.play(player.getPreviousTrack());
 
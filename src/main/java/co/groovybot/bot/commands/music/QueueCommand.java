@@ -21,6 +21,7 @@ package co.groovybot.bot.commands.music;
 
 import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.core.audio.MusicPlayer;
+import co.groovybot.bot.core.audio.queue.TrackQueue;
 import co.groovybot.bot.core.command.Command;
 import co.groovybot.bot.core.command.CommandCategory;
 import co.groovybot.bot.core.command.CommandEvent;
@@ -36,9 +37,7 @@ import net.dv8tion.jda.core.entities.Message;
 import net.dv8tion.jda.core.entities.TextChannel;
 import net.dv8tion.jda.core.events.message.guild.react.GuildMessageReactionAddEvent;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class QueueCommand extends Command {
@@ -79,7 +78,7 @@ public class QueueCommand extends Command {
             return send(error(event.translate("phrases.error"), event.translate("command.queue.empty")));
 
         if (player.getQueueSize() <= PAGE_SIZE)
-            return new Result(formatQueue((LinkedList<AudioTrack>) player.getTrackQueue(), event, 0, 1, 1));
+            return new Result(formatQueue(player.getTrackQueue().snapshot(), event, 0, 1, 1));
 
         if (!event.getGuild().getSelfMember().hasPermission(event.getChannel(), Permission.MESSAGE_MANAGE))
             return send(error(event.translate("phrases.nopermission"), event.translate("phrases.nopermission.manage")));
@@ -92,12 +91,12 @@ public class QueueCommand extends Command {
 
     private class QueueMessage extends InteractableMessage {
 
-        private final Queue<AudioTrack> queue;
+        private final TrackQueue queue;
         private final int pages;
         private final CommandEvent commandEvent;
         private int currentPage = 1;
 
-        private QueueMessage(Message infoMessage, TextChannel channel, Member author, Queue<AudioTrack> queue, CommandEvent event) {
+        private QueueMessage(Message infoMessage, TextChannel channel, Member author, TrackQueue queue, CommandEvent event) {
             super(infoMessage, channel, author, infoMessage.getIdLong());
             this.queue = queue;
             this.pages = queue.size() >= PAGE_SIZE ? queue.size() / PAGE_SIZE : 1;
@@ -124,7 +123,7 @@ public class QueueCommand extends Command {
         }
 
         private void updateMessage() {
-            List<AudioTrack> subQueue = ((LinkedList<AudioTrack>) queue).subList((currentPage - 1) * PAGE_SIZE, ((currentPage - 1) * PAGE_SIZE + PAGE_SIZE) > queue.size() ? queue.size() : (currentPage - 1) * PAGE_SIZE + PAGE_SIZE);
+            List<AudioTrack> subQueue = queue.page((currentPage - 1) * PAGE_SIZE, ((currentPage - 1) * PAGE_SIZE + PAGE_SIZE) > queue.size() ? queue.size() : (currentPage - 1) * PAGE_SIZE + PAGE_SIZE);
             editMessage(getInfoMessage(), formatQueue(subQueue, commandEvent, (currentPage * PAGE_SIZE - 10), currentPage, pages + 1));
         }
 
@@ -26,11 +26,8 @@ import co.groovybot.bot.core.command.Result;
 import co.groovybot.bot.core.command.permission.Permissions;
 import co.groovybot.bot.core.command.voice.SameChannelCommand;
 import co.groovybot.bot.util.EmbedUtil;
-import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import net.dv8tion.jda.core.utils.Helpers;
 
-import java.util.LinkedList;
-
 public class RemoveCommand extends SameChannelCommand {
 
     public RemoveCommand() {
@@ -53,9 +50,9 @@ public class RemoveCommand extends SameChannelCommand {
         if (query > player.trackQueue.size() || query < 1)
             return send(EmbedUtil.error(event.translate("phrases.error"), event.translate("command.remove.notinqueue")));
 
-        String title = ((LinkedList<AudioTrack>) player.trackQueue).get(query - 1).getInfo().title;
-        ((LinkedList<AudioTrack>) player.trackQueue).remove(query - 1);
+        String title = player.trackQueue.remove(query - 1).getInfo().title;
+        player.save();
 
-        return send(EmbedUtil.success(event.translate("phrases.success"), String.format(event.translate("command.remove"), title, query)));
+        return send(EmbedUtil.success(event.translate("phrases.success"), event.translate("command.remove", title, query)));
     }
 }
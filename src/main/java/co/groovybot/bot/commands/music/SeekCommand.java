@@ -58,6 +58,6 @@ public class SeekCommand extends SameChannelCommand {
         if (position > player.getPlayer().getPlayingTrack().getDuration())
             return send(info(event.translate("phrases.skipped"), event.translate("command.seek.skipped")));
 
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.seek"), FormatUtil.formatTimestamp(player.getPlayer().getTrackPosition()), FormatUtil.formatTimestamp(position))));
+        return send(success(event.translate("phrases.success"), event.translate("command.seek", FormatUtil.formatTimestamp(player.getPlayer().getTrackPosition()), FormatUtil.formatTimestamp(position))));
     }
 }
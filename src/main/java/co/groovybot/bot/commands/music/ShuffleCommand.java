@@ -38,6 +38,6 @@ public class ShuffleCommand extends SameChannelCommand {
             return send(error(event.translate("phrases.notplaying.title"), event.translate("phrases.notplaying.description")));
 
         player.getScheduler().setShuffle(!player.getScheduler().isShuffle());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.shuffle"), player.getScheduler().isShuffle() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.shuffle", player.getScheduler().isShuffle() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
@@ -50,7 +50,7 @@ public class SkipCommand extends SameChannelCommand {
         player.skipTo(skipTo);
 
         if (player.getPlayer().getPlayingTrack() != null)
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.skip"), player.getPlayer().getPlayingTrack().getInfo().title, skipTo)));
+            return send(success(event.translate("phrases.success"), event.translate("command.skip", player.getPlayer().getPlayingTrack().getInfo().title, skipTo)));
 
         return null;
     }
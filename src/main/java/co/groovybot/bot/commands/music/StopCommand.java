@@ -40,6 +40,6 @@ public class StopCommand extends SameChannelCommand {
         player.setPreviousTrack(player.getPlayer().getPlayingTrack());
         player.stop();
 
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.stop"), event.getMember().getVoiceState().getChannel().getName())));
+        return send(success(event.translate("phrases.success"), event.translate("command.stop", event.getMember().getVoiceState().getChannel().getName())));
     }
 }
@@ -48,9 +48,9 @@ public class SwitchCommand extends InChannelCommand {
 
         if (event.getMember().getVoiceState().getChannel() != event.getGuild().getSelfMember().getVoiceState().getChannel()) {
             player.connect(event.getMember().getVoiceState().getChannel());
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.switch.voice"), text.getAsMention(), player.getChannel().getAsMention(), voice, player.getVoiceChannel().getName())));
+            return send(success(event.translate("phrases.success"), event.translate("command.switch.voice", text.getAsMention(), player.getChannel().getAsMention(), voice, player.getVoiceChannel().getName())));
         }
 
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.switch"), text.getAsMention(), player.getChannel().getAsMention())));
+        return send(success(event.translate("phrases.success"), event.translate("command.switch", text.getAsMention(), player.getChannel().getAsMention())));
     }
 }
@@ -61,7 +61,7 @@ public class TextToSpeechCommand extends SemiInChannelCommand {
         Language language = cmd.hasOption("language") ? Language.fromCode(cmd.getOptionValue("language").toLowerCase()) : Language.EN_US;
 
         if (language == Language.UNKNOWN)
-            return send(error(event.translate("phrases.invalid"), String.format(event.translate("phrases.invalid.language"),
+            return send(error(event.translate("phrases.invalid"), event.translate("phrases.invalid.language",
                     Stream.of(Language.values()).filter(l -> l != Language.UNKNOWN).map(l -> "`" + l.code + "`").collect(Collectors.joining(", ")))));
 
         String url;
@@ -26,14 +26,14 @@ public class VoiceFixCommand extends SameChannelCommand {
 
         Region oldRegion = event.getGuild().getRegion();
 
-        Message msg = SafeMessage.sendMessageBlocking(event.getChannel(), success(String.format(event.translate("command.voicefix.step"), "1"), event.translate("command.voicefix.step.get")));
+        Message msg = SafeMessage.sendMessageBlocking(event.getChannel(), success(event.translate("command.voicefix.step", "1"), event.translate("command.voicefix.step.get")));
 
         Region randomRegion = getRandomRegion(event.getGuild().getRegion());
 
-        SafeMessage.editMessage(msg, success(String.format(event.translate("command.voicefix.step"), "2"), String.format(event.translate("command.voicefix.step.set"), randomRegion.getName())));
+        SafeMessage.editMessage(msg, success(event.translate("command.voicefix.step", "2"), event.translate("command.voicefix.step.set", randomRegion.getName())));
 
         event.getGuild().getManager().setRegion(randomRegion).queue(r -> {
-            SafeMessage.editMessage(msg, success(String.format(event.translate("command.voicefix.step"), "3"), String.format(event.translate("command.voicefix.step.back"), oldRegion.getName())));
+            SafeMessage.editMessage(msg, success(event.translate("command.voicefix.step", "3"), event.translate("command.voicefix.step.back", oldRegion.getName())));
             event.getGuild().getManager().setRegion(oldRegion).queue(rr -> SafeMessage.editMessage(msg, success(event.translate("phrases.success"), event.translate("command.voicefix"))));
         });
 
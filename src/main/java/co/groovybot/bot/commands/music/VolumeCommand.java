@@ -54,6 +54,6 @@ public class VolumeCommand extends SameChannelCommand {
         int current = player.getPlayer().getVolume();
 
         player.setVolume(volume);
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.volume"), current, volume)));
+        return send(success(event.translate("phrases.success"), event.translate("command.volume", current, volume)));
     }
 }
@@ -40,7 +40,7 @@ public class VoteSkipCommand extends SameChannelCommand {
 
         if (reason == MusicPlayer.VoteSkipReason.ALONE) {
             player.skip();
-            return send(success(event.translate("phrases.success"), (String.format(event.translate("command.skip"), player.getPlayer().getPlayingTrack().getInfo().title))));
+            return send(success(event.translate("phrases.success"), (event.translate("command.skip", player.getPlayer().getPlayingTrack().getInfo().title))));
         }
 
         if (reason != MusicPlayer.VoteSkipReason.ALLOWED)
@@ -50,6 +50,6 @@ public class VoteSkipCommand extends SameChannelCommand {
             return send(success(event.translate("phrases.success"), event.translate("command.voteskip.add")).setFooter(String.format("%s/%s %s", player.getSkipVotes(), player.getNeededSkipVotes(), event.translate("phrases.text.votes")), null));
 
         player.skip();
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.voteskip"), player.getPlayer().getPlayingTrack().getInfo().title)));
+        return send(success(event.translate("phrases.success"), event.translate("command.voteskip", player.getPlayer().getPlayingTrack().getInfo().title)));
     }
 }
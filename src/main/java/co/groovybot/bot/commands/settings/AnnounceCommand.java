@@ -36,6 +36,6 @@ public class AnnounceCommand extends Command {
     public Result run(String[] args, CommandEvent event) {
         GroovyGuild groovyGuild = event.getGroovyGuild();
         groovyGuild.setAnnounceSongs(!groovyGuild.isAnnounceSongs());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.announce"), groovyGuild.isAnnounceSongs() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.announce", groovyGuild.isAnnounceSongs() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
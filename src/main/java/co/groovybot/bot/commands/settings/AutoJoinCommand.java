@@ -41,7 +41,7 @@ public class AutoJoinCommand extends Command {
             if (!groovyGuild.hasAutoJoinChannel())
                 return send(error(event.translate("phrases.error"), event.translate("command.autojoin.nochannel")));
             else
-                return send(info(event.translate("phrases.info"), String.format(event.translate("command.autojoin.info"), groovyGuild.getAutoJoinChannel().getName())));
+                return send(info(event.translate("phrases.info"), event.translate("command.autojoin.info", groovyGuild.getAutoJoinChannel().getName())));
         }
 
         VoiceChannel target;
@@ -57,7 +57,7 @@ public class AutoJoinCommand extends Command {
             return send(error(event.translate("phrases.notfound"), event.translate("command.autojoin.notfound")));
 
         groovyGuild.setAutoJoinChannel(target);
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.autojoin"), target.getName())));
+        return send(success(event.translate("phrases.success"), event.translate("command.autojoin", target.getName())));
     }
 
     private class DisableCommand extends SubCommand {
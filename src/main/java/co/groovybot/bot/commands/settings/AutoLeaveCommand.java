@@ -36,6 +36,6 @@ public class AutoLeaveCommand extends SameChannelCommand {
     public Result runCommand(String[] args, CommandEvent event, MusicPlayer player) {
         GroovyGuild groovyGuild = event.getGroovyGuild();
         groovyGuild.setAutoLeave(!groovyGuild.isAutoLeave());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.autoleave"), groovyGuild.isAutoLeave() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.autoleave", groovyGuild.isAutoLeave() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
@@ -37,6 +37,6 @@ public class AutoPauseCommand extends SameChannelCommand {
     public Result runCommand(String[] args, CommandEvent event, MusicPlayer player) {
         GroovyGuild groovyGuild = event.getGroovyGuild();
         groovyGuild.setAutoPause(!groovyGuild.isAutoPause());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.autopause"), groovyGuild.isAutoPause() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.autopause", groovyGuild.isAutoPause() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
@@ -37,6 +37,6 @@ public class AutoPlayCommand extends SameChannelCommand {
     public Result runCommand(String[] args, CommandEvent event, MusicPlayer player) {
         Scheduler scheduler = player.getScheduler();
         scheduler.setAutoPlay(!scheduler.isAutoPlay());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.autoplay"), player.getScheduler().isAutoPlay() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.autoplay", player.getScheduler().isAutoPlay() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
@@ -88,7 +88,7 @@ public class BlackListCommand extends Command {
                 return send(error(event.translate("phrases.error"), event.translate("command.blacklist.isbotchannel")));
 
             groovyGuild.blacklistChannel(target.getIdLong());
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.blacklist.added"), target.getAsMention())));
+            return send(success(event.translate("phrases.success"), event.translate("command.blacklist.added", target.getAsMention())));
         }
     }
 
@@ -112,7 +112,7 @@ public class BlackListCommand extends Command {
                 return send(error(event.translate("phrases.error"), event.translate("command.blacklist.notblacklisted")));
 
             groovyGuild.unBlacklistChannel(target.getIdLong());
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.blacklist.removed"), target.getAsMention())));
+            return send(success(event.translate("phrases.success"), event.translate("command.blacklist.removed", target.getAsMention())));
         }
     }
 }
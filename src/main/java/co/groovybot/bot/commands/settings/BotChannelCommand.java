@@ -55,9 +55,9 @@ public class BotChannelCommand extends Command {
                     return sendHelp();
                 else {
                     if (event.getGroovyGuild().getBlacklistedChannels().contains(mentionedChannels.get(0)))
-                        return send(error(event.translate("phrases.error"), String.format(event.translate("command.botchannel.blacklisted"), mentionedChannels.get(0).getAsMention())));
+                        return send(error(event.translate("phrases.error"), event.translate("command.botchannel.blacklisted", mentionedChannels.get(0).getAsMention())));
                     event.getGroovyGuild().setBotChannel(mentionedChannels.get(0).getIdLong());
-                    return send(success(event.translate("phrases.success"), String.format(event.translate("command.botchannel"), mentionedChannels.get(0).getAsMention())));
+                    return send(success(event.translate("phrases.success"), event.translate("command.botchannel", mentionedChannels.get(0).getAsMention())));
                 }
             }
         }
@@ -76,7 +76,7 @@ public class BotChannelCommand extends Command {
 
             TextChannel oldBotChannel = event.getBot().getShardManager().getTextChannelById(event.getGroovyGuild().getBotChannel());
             event.getGroovyGuild().setBotChannel(0L);
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.botchannel.disable"), oldBotChannel.getAsMention())));
+            return send(success(event.translate("phrases.success"), event.translate("command.botchannel.disable", oldBotChannel.getAsMention())));
         }
     }
 }
@@ -16,6 +16,6 @@ public class DeleteMessagesCommand extends Command {
     public Result run(String[] args, CommandEvent event) {
         GroovyGuild groovyGuild = event.getGroovyGuild();
         groovyGuild.setDeleteMessages(!groovyGuild.isDeleteMessages());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.deletemessages"), groovyGuild.isDeleteMessages() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.deletemessages", groovyGuild.isDeleteMessages() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
@@ -37,7 +37,7 @@ public class DjModeCommand extends Command {
     public Result run(String[] args, CommandEvent event) {
         GroovyGuild groovyGuild = event.getGroovyGuild();
         groovyGuild.setDjMode(!groovyGuild.isDjMode());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.djmode"), groovyGuild.isDjMode() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.djmode", groovyGuild.isDjMode() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 
     public class DjRoleCommand extends SubCommand {
@@ -68,10 +68,10 @@ public class DjModeCommand extends Command {
                     return send(error(event.translate("phrases.error"), event.translate("phrases.invalid.role")));
 
                 groovyGuild.setDjRole(role.getIdLong());
-                return send(success(event.translate("phrases.success"), String.format(event.translate("command.djmode.role"), role.getName())));
+                return send(success(event.translate("phrases.success"), event.translate("command.djmode.role", role.getName())));
             } else {
                 groovyGuild.setDjRole(event.getMessage().getMentionedRoles().get(0).getIdLong());
-                return send(success(event.translate("phrases.success"), String.format(event.translate("command.djmode.role"), event.getMessage().getMentionedRoles().get(0).getName())));
+                return send(success(event.translate("phrases.success"), event.translate("command.djmode.role", event.getMessage().getMentionedRoles().get(0).getName())));
             }
         }
     }
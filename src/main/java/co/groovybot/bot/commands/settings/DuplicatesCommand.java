@@ -48,7 +48,7 @@ public class DuplicatesCommand extends Command {
         public Result run(String[] args, CommandEvent event) {
             GroovyGuild groovyGuild = event.getGroovyGuild();
             groovyGuild.setPreventDups(!groovyGuild.isPreventDups());
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.noduplicates"), groovyGuild.isPreventDups() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+            return send(success(event.translate("phrases.success"), event.translate("command.noduplicates", groovyGuild.isPreventDups() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
         }
     }
 
@@ -64,7 +64,7 @@ public class DuplicatesCommand extends Command {
                 return send(error(event.translate("phrases.notplaying.title"), event.translate("phrases.notplaying.description")));
 
             int dups = player.removeDups();
-            return send(success(event.translate("phrases.success"), String.format(event.translate("command.removeduplicates"), dups)));
+            return send(success(event.translate("phrases.success"), event.translate("command.removeduplicates", dups)));
         }
     }
 }
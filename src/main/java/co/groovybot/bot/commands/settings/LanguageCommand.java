@@ -58,7 +58,7 @@ public class LanguageCommand extends Command {
 
         groovyUser.setLocale(locale);
 
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.language"), locale.getDisplayName())));
+        return send(success(event.translate("phrases.success"), event.translate("command.language", locale.getDisplayName())));
     }
 
     private String formatAvailableLanguages(TranslationManager translationManager) {
@@ -18,6 +18,6 @@ public class PlaySearchCommand extends SameChannelCommand {
     public Result runCommand(String[] args, CommandEvent event, MusicPlayer player) {
         GroovyGuild groovyGuild = event.getGroovyGuild();
         groovyGuild.setSearchPlay(!groovyGuild.isSearchPlay());
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.playsearch"), groovyGuild.isSearchPlay() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
+        return send(success(event.translate("phrases.success"), event.translate("command.playsearch", groovyGuild.isSearchPlay() ? event.translate("phrases.text.enabled") : event.translate("phrases.text.disabled"))));
     }
 }
@@ -37,10 +37,10 @@ public class PrefixCommand extends Command {
         GroovyGuild groovyGuild = event.getGroovyGuild();
 
         if (args.length == 0)
-            return send(small(String.format(event.translate("command.prefix.current"), groovyGuild.getPrefix())));
+            return send(small(event.translate("command.prefix.current", groovyGuild.getPrefix())));
 
         String current = groovyGuild.getPrefix();
         groovyGuild.setPrefix(args[0]);
-        return send(success(event.translate("phrases.success"), String.format(event.translate("command.prefix"), current, groovyGuild.getPrefix())));
+        return send(success(event.translate("phrases.success"), event.translate("command.prefix", current, groovyGuild.getPrefix())));
     }
 }
@@ -19,33 +19,110 @@
 
 package co.groovybot.bot.core.audio;
 
-import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.core.audio.data.TrackData;
+import co.groovybot.bot.core.cache.TrackResolutionCache;
+import co.groovybot.bot.util.NameThreadFactory;
 import co.groovybot.bot.util.YoutubeUtil;
 import com.sedmelluq.discord.lavaplayer.source.youtube.YoutubeAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.source.youtube.YoutubeAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Log4j2
 public class AudioTrackFactory {
 
-    public List<AudioTrack> getAudioTracks(List<TrackData> trackDataList) {
-        return trackDataList.stream()
-                .map(this::getAudioTrack)
+    private static final int RESOLVER_THREADS = 8;
+
+    private final YoutubeUtil youtubeClient;
+    private final TrackResolutionCache resolutionCache;
+    @Getter
+    private final YoutubeAudioSourceManager sourceManager;
+    private final ExecutorService executor;
+
+    @Getter
+    private final AtomicInteger convertedPlaylists = new AtomicInteger();
+    @Getter
+    private final AtomicInteger convertedPlaylistTracks = new AtomicInteger();
+    @Getter
+    private final AtomicLong playlistMillis = new AtomicLong();
+    @Getter
+    private final AtomicInteger resolvedTracks = new AtomicInteger();
+    @Getter
+    private final AtomicLong resolutionMillis = new AtomicLong();
+
+    public AudioTrackFactory(YoutubeUtil youtubeClient, TrackResolutionCache resolutionCache, YoutubeAudioSourceManager sourceManager) {
+        this.youtubeClient = youtubeClient;
+        this.resolutionCache = resolutionCache;
+        this.sourceManager = sourceManager;
+        this.executor = Executors.newFixedThreadPool(RESOLVER_THREADS, new NameThreadFactory("TrackResolver"));
+    }
+
+    /**
+     * Converts the tracks of a playlist without looking them up, only the first one is resolved right away as it is usually played next.
+     * The time until it is resolved is recorded as the latency of the playlist
+     */
+    public List<AudioTrack> getDeferredAudioTracks(List<TrackData> trackDataList) {
+        final long start = System.currentTimeMillis();
+        List<AudioTrack> tracks = trackDataList.stream()
+                .filter(trackData -> !trackData.getArtists().isEmpty())
+                .map(trackData -> new DeferredAudioTrack(trackData, this))
                 .collect(Collectors.toList());
+        if (tracks.isEmpty())
+            return tracks;
+
+        ((DeferredAudioTrack) tracks.get(0)).resolve().thenRun(() -> {
+            long took = System.currentTimeMillis() - start;
+            convertedPlaylists.incrementAndGet();
+            convertedPlaylistTracks.addAndGet(tracks.size());
+            playlistMillis.addAndGet(took);
+            log.debug("[AudioTrackFactory] Converted {}/{} tracks, first one resolved after {}ms", tracks.size(), trackDataList.size(), took);
+        });
+        return tracks;
+    }
+
+    /**
+     * Looks up the YouTube track for tracks which were converted but not resolved yet, all other tracks are returned as they are
+     */
+    public CompletableFuture<AudioTrack> resolve(AudioTrack track) {
+        if (track instanceof DeferredAudioTrack)
+            return ((DeferredAudioTrack) track).resolve();
+
+        // Deferred tracks which were stored before being resolved come back as YouTube tracks carrying their source and id
+        if (DeferredAudioTrack.isUnresolved(track))
+            return getAudioTrackAsync(DeferredAudioTrack.toTrackData(track));
+
+        return CompletableFuture.completedFuture(track);
+    }
+
+    public CompletableFuture<AudioTrack> getAudioTrackAsync(TrackData trackData) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            AudioTrack track = getAudioTrack(trackData);
+            resolvedTracks.incrementAndGet();
+            resolutionMillis.addAndGet(System.currentTimeMillis() - start);
+            return track;
+        }, executor)
+                .exceptionally(throwable -> {
+                    log.error("[AudioTrackFactory] Failed to convert TrackData to AudioTrack!", throwable);
+                    return null;
+                });
     }
 
     public AudioTrack getAudioTrack(TrackData trackData) {
         try {
-            String identifier = Objects.requireNonNull(YoutubeUtil.create(GroovyBot.getInstance())).getVideoId(trackData.getArtists().get(0) + " " +
-                    trackData.getTitle());
+            String identifier = resolutionCache.getVideoId(trackData, () -> youtubeClient.getVideoId(trackData.getArtists().get(0) + " " +
+                    trackData.getTitle()));
             AudioTrackInfo audioTrackInfo = new AudioTrackInfo(
                     trackData.getTitle(),
                     trackData.getArtists().get(0),
@@ -53,7 +130,7 @@ public class AudioTrackFactory {
                     identifier, false,
                     trackData.getUri()
             );
-            return new YoutubeAudioTrack(audioTrackInfo, new YoutubeAudioSourceManager());
+            return new YoutubeAudioTrack(audioTrackInfo, sourceManager);
         } catch (IOException e) {
             log.error("[AudioTrackFactory] Failed to convert TrackData to AudioTrack!", e);
             return null;
@@ -0,0 +1,97 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio;
+
+import co.groovybot.bot.core.audio.data.TrackData;
+import com.sedmelluq.discord.lavaplayer.source.youtube.YoutubeAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Placeholder for a converted track which is only looked up on YouTube once it is about to be played
+ */
+public class DeferredAudioTrack extends YoutubeAudioTrack {
+
+    // Stored as identifier so the cache key of the converted track survives encoding the queue
+    private static final String IDENTIFIER_PREFIX = "deferred:";
+
+    @Getter
+    private final TrackData trackData;
+    private final AudioTrackFactory factory;
+    private CompletableFuture<AudioTrack> resolution;
+
+    public DeferredAudioTrack(TrackData trackData, AudioTrackFactory factory) {
+        super(new AudioTrackInfo(
+                trackData.getTitle(),
+                trackData.getArtists().get(0),
+                trackData.getDuration(),
+                identifierOf(trackData), false,
+                trackData.getUri()
+        ), factory.getSourceManager());
+        this.trackData = trackData;
+        this.factory = factory;
+    }
+
+    private static String identifierOf(TrackData trackData) {
+        if (trackData.getSource() == null || trackData.getExternalId() == null)
+            return "";
+        return IDENTIFIER_PREFIX + trackData.getSource() + ":" + trackData.getExternalId();
+    }
+
+    /**
+     * Returns whether the given track is a converted track which was stored before being resolved
+     */
+    public static boolean isUnresolved(AudioTrack track) {
+        String identifier = track.getIdentifier();
+        return track instanceof YoutubeAudioTrack && (identifier.isEmpty() || identifier.startsWith(IDENTIFIER_PREFIX));
+    }
+
+    /**
+     * Rebuilds the {@link TrackData} of a track which was stored before being resolved
+     */
+    public static TrackData toTrackData(AudioTrack track) {
+        AudioTrackInfo info = track.getInfo();
+        String source = null;
+        String externalId = null;
+        if (info.identifier.startsWith(IDENTIFIER_PREFIX)) {
+            int separator = info.identifier.indexOf(':', IDENTIFIER_PREFIX.length());
+            if (separator > 0) {
+                source = info.identifier.substring(IDENTIFIER_PREFIX.length(), separator);
+                externalId = info.identifier.substring(separator + 1);
+            }
+        }
+        return new TrackData(info.title, info.uri, Collections.singletonList(info.author), info.length, source, externalId);
+    }
+
+    public synchronized CompletableFuture<AudioTrack> resolve() {
+        if (resolution == null)
+            resolution = factory.getAudioTrackAsync(trackData);
+        return resolution;
+    }
+
+    @Override
+    protected AudioTrack makeClone() {
+        return new DeferredAudioTrack(trackData, factory);
+    }
+}
@@ -54,6 +54,8 @@ public class LavalinkManager {
     private static JdaLavalink lavalink;
     @Getter
     private AudioPlayerManager audioPlayerManager;
+    @Getter
+    private AudioTrackFactory audioTrackFactory;
     private GroovyBot groovyBot;
 
     public LavalinkManager(GroovyBot groovyBot) {
@@ -63,10 +65,12 @@ public class LavalinkManager {
         audioPlayerManager.getConfiguration().setOpusEncodingQuality(AudioConfiguration.OPUS_QUALITY_MAX);
         audioPlayerManager.getConfiguration().setResamplingQuality(AudioConfiguration.ResamplingQuality.HIGH);
         audioPlayerManager.getConfiguration().setOutputFormat(StandardAudioDataFormats.DISCORD_OPUS);
-        audioPlayerManager.registerSourceManager(new SpotifySourceManager(groovyBot.getSpotifyManager()));
-        audioPlayerManager.registerSourceManager(new DeezerSourceManager());
-        audioPlayerManager.registerSourceManager(new iTunesSourceManager());
-        audioPlayerManager.registerSourceManager(new YoutubeAudioSourceManager());
+        YoutubeAudioSourceManager youtubeSourceManager = new YoutubeAudioSourceManager();
+        this.audioTrackFactory = new AudioTrackFactory(groovyBot.getYoutubeClient(), groovyBot.getTrackResolutionCache(), youtubeSourceManager);
+        audioPlayerManager.registerSourceManager(new SpotifySourceManager(groovyBot.getSpotifyManager(), audioTrackFactory));
+        audioPlayerManager.registerSourceManager(new DeezerSourceManager(audioTrackFactory));
+        audioPlayerManager.registerSourceManager(new iTunesSourceManager(audioTrackFactory));
+        audioPlayerManager.registerSourceManager(youtubeSourceManager);
         audioPlayerManager.registerSourceManager(new SoundCloudAudioSourceManager());
         audioPlayerManager.registerSourceManager(new VimeoAudioSourceManager());
         audioPlayerManager.registerSourceManager(new TwitchStreamAudioSourceManager());
@@ -21,6 +21,7 @@ package co.groovybot.bot.core.audio;
 
 import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.commands.music.SearchCommand;
+import co.groovybot.bot.core.audio.codec.TrackListCodec;
 import co.groovybot.bot.core.audio.player.util.AnnounceReason;
 import co.groovybot.bot.core.audio.sources.spotify.SpotifySourceManager;
 import co.groovybot.bot.core.command.CommandEvent;
@@ -37,7 +38,6 @@ import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
-import lavalink.client.LavalinkUtil;
 import lavalink.client.player.IPlayer;
 import lavalink.client.player.LavaplayerPlayerWrapper;
 import lombok.Getter;
@@ -58,17 +58,17 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.http.client.utils.URIBuilder;
-import org.json.JSONArray;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static co.groovybot.bot.util.EmbedUtil.*;
@@ -137,6 +137,7 @@ public class MusicPlayer extends Player {
     }
 
     public void connect(VoiceChannel channel) {
+        GroovyBot.getInstance().getMusicPlayerManager().getCheckpointer().release(guild.getIdLong());
         getHandler().handlePlayerJoin();
         link.connect(channel);
         Objects.requireNonNull(link.getGuild()).getAudioManager().setSelfDeafened(true);
@@ -171,6 +172,11 @@ public class MusicPlayer extends Player {
     }
 
     public void leave() {
+        disconnect();
+        save();
+    }
+
+    private void disconnect() {
         clearQueue();
         stop();
         getHandler().handlePlayerLeave();
@@ -197,19 +203,19 @@ public class MusicPlayer extends Player {
         switch (reason) {
             case SONG:
                 if (EntityProvider.getGuild(guild.getIdLong()).isAnnounceSongs())
-                    SafeMessage.sendMessage(channel, EmbedUtil.play(translate("phrases.now"), String.format(translate("phrases.now.playing"), track.getInfo().title), track.getDuration()));
+                    SafeMessage.sendMessage(channel, EmbedUtil.play(translate("phrases.now"), translate("phrases.now.playing", track.getInfo().title), track.getDuration()));
                 break;
             case ERROR:
-                SafeMessage.sendMessage(channel, info(translate("phrases.error"), String.format(translate("phrases.loadfailed"), String.format("[%s](%s)", track.getInfo().title, track.getInfo().uri))));
+                SafeMessage.sendMessage(channel, info(translate("phrases.error"), translate("phrases.loadfailed", String.format("[%s](%s)", track.getInfo().title, track.getInfo().uri))));
                 break;
             case NOT_FOUND:
-                SafeMessage.sendMessage(channel, info(translate("phrases.error"), String.format(translate("phrases.searching.nomatches"), String.format("[%s](%s)", track.getInfo().title, track.getInfo().uri))));
+                SafeMessage.sendMessage(channel, info(translate("phrases.error"), translate("phrases.searching.nomatches", String.format("[%s](%s)", track.getInfo().title, track.getInfo().uri))));
                 break;
             case NULL:
                 SafeMessage.sendMessage(channel, info(translate("phrases.error"), translate("phrases.loadfailed.null")));
                 break;
             case LOCAL_SONGS:
-                SafeMessage.sendMessage(channel, info(translate("phrases.warning"), String.format(translate("phrases.loadskipped.local"), Integer.valueOf(track.getInfo().title))));
+                SafeMessage.sendMessage(channel, info(translate("phrases.warning"), translate("phrases.loadskipped.local", Integer.valueOf(track.getInfo().title))));
                 break;
             default:
                 break;
@@ -223,18 +229,19 @@ public class MusicPlayer extends Player {
     }
 
     public int removeDups() {
-        List<String> fineTracks = new ArrayList<>();
-        List<AudioTrack> dups = new ArrayList<>();
-
-        trackQueue.forEach(t -> {
-            if (fineTracks.contains(t.getInfo().title))
-                dups.add(t);
-            else
-                fineTracks.add(t.getInfo().title);
+        Set<String> fineTracks = new HashSet<>();
+        AtomicInteger dups = new AtomicInteger();
+
+        // A single pass under the queue's lock, so concurrent changes cannot interleave
+        trackQueue.removeIf(t -> {
+            if (fineTracks.add(t.getInfo().title))
+                return false;
+            dups.incrementAndGet();
+            return true;
         });
 
-        dups.forEach(t -> trackQueue.remove(t));
-        return dups.size();
+        save();
+        return dups.get();
     }
 
     public void queueSongs(final CommandEvent event) {
@@ -250,11 +257,11 @@ public class MusicPlayer extends Player {
         try {
             args = event.asCli(CLI_OPTIONS);
         } catch (ParseException e) {
-            SafeMessage.sendMessage(event.getChannel(), error(event.translate("phrases.error"), String.format(event.translate("phrases.error.cli"), e.getMessage(), FormatUtil.formatHelp("play [options] <url/search>", CLI_OPTIONS))));
+            SafeMessage.sendMessage(event.getChannel(), error(event.translate("phrases.error"), event.translate("phrases.error.cli", e.getMessage(), FormatUtil.formatHelp("play [options] <url/search>", CLI_OPTIONS))));
             return;
         }
 
-        UserPermissions userPermissions = EntityProvider.getUser(event.getAuthor().getIdLong()).getPermissions();
+        UserPermissions userPermissions = event.getPermissions();
         Permissions tierTwo = Permissions.tierTwo();
 
         if (trackQueue.size() >= Constants.QUEUE_LENGTH && !tierTwo.isCovered(userPermissions, event)) {
@@ -270,7 +277,7 @@ public class MusicPlayer extends Player {
         final boolean isForce = args.hasOption("f");
         final boolean isTop = args.hasOption("t");
 
-        Message infoMessage = SafeMessage.sendMessageBlocking(event.getChannel(), info(event.translate("phrases.searching"), String.format(event.translate("phrases.searching.description"), keyword)));
+        Message infoMessage = SafeMessage.sendMessageBlocking(event.getChannel(), info(event.translate("phrases.searching"), event.translate("phrases.searching.description", keyword)));
 
         if (!keyword.startsWith("http://") && !keyword.startsWith("https://")) {
             if (isSoundcloud) keyword = "scsearch: " + keyword;
@@ -341,9 +348,9 @@ public class MusicPlayer extends Player {
                     queueTracks(tracks.toArray(new AudioTrack[0]));
 
                     if (!duplicates.isEmpty())
-                        SafeMessage.editMessage(infoMessage, success(event.translate("phrases.loaded"), String.format(event.translate("phrases.loaded.playlist.duplicates"), tracks.size(), audioPlaylist.getName(), duplicates.size(), EntityProvider.getGuild(guild.getIdLong()).getPrefix())));
+                        SafeMessage.editMessage(infoMessage, success(event.translate("phrases.loaded"), event.translate("phrases.loaded.playlist.duplicates", tracks.size(), audioPlaylist.getName(), duplicates.size(), EntityProvider.getGuild(guild.getIdLong()).getPrefix())));
                     else
-                        SafeMessage.editMessage(infoMessage, success(event.translate("phrases.loaded"), String.format(event.translate("phrases.loaded.playlist"), tracks.size(), audioPlaylist.getName())));
+                        SafeMessage.editMessage(infoMessage, success(event.translate("phrases.loaded"), event.translate("phrases.loaded.playlist", tracks.size(), audioPlaylist.getName())));
 
                     inProgress = false;
                     return;
@@ -377,7 +384,7 @@ public class MusicPlayer extends Player {
                 }
 
                 if (checkDups(track)) {
-                    SafeMessage.editMessage(infoMessage, info(event.translate("phrases.warning"), String.format(event.translate("phrases.duplicates.single"), EntityProvider.getGuild(guild.getIdLong()).getPrefix())));
+                    SafeMessage.editMessage(infoMessage, info(event.translate("phrases.warning"), event.translate("phrases.duplicates.single", EntityProvider.getGuild(guild.getIdLong()).getPrefix())));
                     inProgress = false;
                     return;
                 }
@@ -385,11 +392,11 @@ public class MusicPlayer extends Player {
                 queueTrack(track, isForce, isTop);
 
                 if (track.getInfo().isStream) {
-                    SafeMessage.editMessage(infoMessage, EmbedUtil.success(event.translate("phrases.loaded"), String.format(event.translate("phrases.loaded.stream"), track.getInfo().title)));
+                    SafeMessage.editMessage(infoMessage, EmbedUtil.success(event.translate("phrases.loaded"), event.translate("phrases.loaded.stream", track.getInfo().title)));
                 } else {
                     SafeMessage.editMessage(infoMessage,
                             EmbedUtil.success(event.translate("phrases.loaded"),
-                                    String.format(event.translate("phrases.loaded.track"),
+                                    event.translate("phrases.loaded.track",
                                             track.getInfo().title)).setFooter(String.format("%s: %s", translate("phrases.estimated"),
                                     getQueueLengthMillis() == 0 ? "Now!" : FormatUtil.formatDuration(getQueueLengthMillis())), null));
                 }
@@ -420,30 +427,14 @@ public class MusicPlayer extends Player {
         if (!isPlaying() || voiceChannel == null)
             return;
 
-        // guild_id, current_track, current_position, queue, channel_id, text_channel_id, volume, bass_boost, skip_votes, loop_queue, loop, shuffle, auto_play
-
-        try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("INSERT INTO queues (guild_id, current_track, current_position, queue, channel_id, text_channel_id, volume, bassboost, skip_votes, loop_queue, loop, shuffle, auto_play) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?)");
-            ps.setLong(1, guild.getIdLong());
-            ps.setString(2, LavalinkUtil.toMessage(player.getPlayingTrack()));
-            ps.setLong(3, player.getTrackPosition());
-            ps.setString(4, getBuildedQueue());
-            ps.setLong(5, voiceChannel.getIdLong());
-            ps.setLong(6, channel.getIdLong());
-            ps.setInt(7, player.getVolume());
-            ps.setString(8, bassboost);
-            ps.setInt(9, skipVotes);
-            ps.setBoolean(10, getScheduler().isLoopqueue());
-            ps.setBoolean(11, getScheduler().isLoop());
-            ps.setBoolean(12, getScheduler().isShuffle());
-            ps.setBoolean(13, getScheduler().isAutoPlay());
-            ps.execute();
+        try {
+            GroovyBot.getInstance().getMusicPlayerManager().getCheckpointer().persist(this);
         } catch (SQLException | IOException e) {
             SafeMessage.sendMessage(channel, EmbedUtil.error(translate("phrases.error"), translate("phrases.updating.error")).setFooter(translate("phrases.redirect.to.devs"), null));
             log.error("[MusicPlayer] Error while updating!", e);
         }
 
-        leave();
+        disconnect();
     }
 
     public String removeQueryFromUrl(String url) {
@@ -454,12 +445,8 @@ public class MusicPlayer extends Player {
         }
     }
 
-    private String getBuildedQueue() throws IOException {
-        JSONArray jsonArray = new JSONArray();
-        for (AudioTrack audioTrack : trackQueue) {
-            jsonArray.put(LavalinkUtil.toMessage(audioTrack));
-        }
-        return jsonArray.toString();
+    byte[] getEncodedQueue() throws IOException {
+        return TrackListCodec.encode(trackQueue.snapshot());
     }
 
     private boolean checkDups(AudioTrack audioTrack) {
@@ -519,8 +506,14 @@ public class MusicPlayer extends Player {
         return latestEvent.translate(key);
     }
 
+    public String translate(String key, Object... args) {
+        if (latestEvent == null)
+            return GroovyBot.getInstance().getTranslationManager().getDefaultLocale().translate(key, args);
+        return latestEvent.translate(key, args);
+    }
+
     @Override
-    protected void save() {
+    public void save() {
         GroovyBot.getInstance().getMusicPlayerManager().update(guild, this);
     }
 
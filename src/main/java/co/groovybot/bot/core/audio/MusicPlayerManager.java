@@ -22,30 +22,22 @@ package co.groovybot.bot.core.audio;
 
 import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.core.command.CommandEvent;
-import co.groovybot.bot.util.EmbedUtil;
-import co.groovybot.bot.util.SafeMessage;
-import lavalink.client.LavalinkUtil;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
-import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.TextChannel;
-import net.dv8tion.jda.core.entities.VoiceChannel;
-import org.json.JSONArray;
 
-import java.io.IOException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Log4j2
 public class MusicPlayerManager {
 
     @Getter
-    private Map<Long, MusicPlayer> playerStorage = new HashMap<>();
+    private Map<Long, MusicPlayer> playerStorage = new ConcurrentHashMap<>();
+    @Getter
+    private QueueCheckpointer checkpointer = new QueueCheckpointer(GroovyBot.getInstance().getPostgreSQL().getDataSource(), playerStorage);
 
     public MusicPlayer getPlayer(Guild guild, TextChannel channel) {
         if (playerStorage.containsKey(guild.getIdLong()))
@@ -71,80 +63,21 @@ public class MusicPlayerManager {
 
     public void update(Guild guild, MusicPlayer player) {
         playerStorage.replace(guild.getIdLong(), player);
+        checkpointer.markDirty(guild.getIdLong());
     }
 
-    public void initPlayers(boolean noJoin) throws SQLException, IOException {
-        int initializedPlayersCount = 0;
-
+    public void initPlayers(boolean noJoin) throws SQLException {
         log.info("[MusicPlayerManager] Initializing MusicPlayers ...");
 
-        try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("SELECT * FROM queues");
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                Guild guild = GroovyBot.getInstance().getShardManager().getGuildById(rs.getLong("guild_id"));
-
-                if (guild == null)
-                    continue;
-
-                TextChannel textChannel = guild.getTextChannelById(rs.getLong("text_channel_id"));
-
-                if (textChannel == null) {
-                    textChannel = guild.getTextChannels().stream().filter(TextChannel::canTalk).filter(channel -> channel.getName().toLowerCase().contains("bot") || channel.getName().toLowerCase().contains("command") || channel.getName().toLowerCase().contains("music")).findFirst().orElse(guild.getTextChannels().stream().filter(TextChannel::canTalk).findFirst().orElse(null));
-
-                    if (textChannel == null)
-                        continue;
-                }
-
-                VoiceChannel voiceChannel = guild.getVoiceChannelById(rs.getLong("channel_id"));
-
-                if (voiceChannel == null)
-                    continue;
-
-                MusicPlayer player = getPlayer(guild, textChannel);
-
-                if (!guild.getSelfMember().hasPermission(voiceChannel, Permission.VOICE_CONNECT, Permission.VOICE_SPEAK)) {
-                    SafeMessage.sendMessage(textChannel, EmbedUtil.error("Error", "Groovy is not able to join this voicechannel."));
-                    continue;
-                }
-
-                if (voiceChannel.getUserLimit() != 0 && !guild.getSelfMember().hasPermission(voiceChannel, Permission.ADMINISTRATOR) && !guild.getSelfMember().hasPermission(voiceChannel, Permission.VOICE_MOVE_OTHERS) && voiceChannel.getMembers().size() >= voiceChannel.getUserLimit()) {
-                    SafeMessage.sendMessage(textChannel, EmbedUtil.error("Error", "Groovy is not able to join this voicechannel as its limit is already reached."));
-                    continue;
-                }
-
-                player.getScheduler().setLoopqueue(rs.getBoolean("loop_queue"));
-                player.getScheduler().setLoop(rs.getBoolean("loop"));
-                player.getScheduler().setShuffle(rs.getBoolean("shuffle"));
-                player.getScheduler().setAutoPlay(rs.getBoolean("auto_play"));
-
-                player.setBassboost(rs.getString("bassboost"));
-                player.setSkipVotes(rs.getInt("skip_votes"));
-
-                player.connect(voiceChannel);
-
-                player.setVolume(rs.getInt("volume"));
-
-                player.play(LavalinkUtil.toAudioTrack(rs.getString("current_track")));
-                player.seekTo(rs.getLong("current_position"));
-
-                for (Object track : new JSONArray(rs.getString("queue")))
-                    player.queueTrack(LavalinkUtil.toAudioTrack(track.toString()), false, false);
-
-                initializedPlayersCount++;
-            }
-
-            PreparedStatement delPs = connection.prepareStatement("DELETE FROM queues");
-            delPs.execute();
-        }
+        PlayerRestorer restorer = new PlayerRestorer(this, GroovyBot.getInstance().getPostgreSQL().getDataSource(), GroovyBot.getInstance().getConfig().getJSONObject("settings").getDouble("restore_connects_per_second"));
+        restorer.restore(restorer.load()).thenAccept(initializedPlayersCount ->
+                log.info(String.format("[MusicPlayerManager] Successfully initialized %s %s!", initializedPlayersCount, initializedPlayersCount == 1 ? "MusicPlayer" : "MusicPlayers"))
+        );
 
         if (!noJoin) {
             MusicPlayer groovyPlayer = getPlayer(GroovyBot.getInstance().getShardManager().getGuildById(403882830225997825L), GroovyBot.getInstance().getShardManager().getTextChannelById(486765014976561159L));
             groovyPlayer.connect(GroovyBot.getInstance().getShardManager().getVoiceChannelById(GroovyBot.getInstance().getConfig().getJSONObject("settings").getString("voice")));
         }
-
-        log.info(String.format("[MusicPlayerManager] Successfully initialized %s %s!", initializedPlayersCount, initializedPlayersCount == 1 ? "MusicPlayer" : "MusicPlayers"));
     }
 
     public void updateAllPlayers() {
@@ -19,7 +19,10 @@
 
 package co.groovybot.bot.core.audio;
 
+import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.core.audio.player.util.AnnounceReason;
+import co.groovybot.bot.core.audio.queue.IndexedTrackQueue;
+import co.groovybot.bot.core.audio.queue.TrackQueue;
 import co.groovybot.bot.util.YoutubeUtil;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
@@ -28,7 +31,7 @@ import lavalink.client.player.IPlayer;
 import lombok.Getter;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class Player {
 
@@ -37,16 +40,22 @@ public abstract class Player {
     @Getter
     private final PlayerCheckHandler handler;
     @Getter
-    public Queue<AudioTrack> trackQueue;
+    public TrackQueue trackQueue;
     @Getter
     public JdaLink link;
     @Getter
     protected IPlayer player;
     protected YoutubeUtil youtubeClient;
+    private final int resolveLookahead;
+    private final Object playLock = new Object();
+    // Both guarded by playLock, resolving is read without it by isResolving
+    private long playRequests;
+    private volatile AudioTrack resolving;
 
     public Player(YoutubeUtil youtubeClient) {
-        this.trackQueue = new LinkedList<>();
-        this.handler = new PlayerCheckHandler(((MusicPlayer) this), 3);
+        this.trackQueue = new IndexedTrackQueue();
+        this.resolveLookahead = GroovyBot.getInstance().getConfig().getJSONObject("settings").optInt("resolve_lookahead", 3);
+        this.handler = new PlayerCheckHandler(((MusicPlayer) this));
         this.scheduler = new Scheduler(((MusicPlayer) this));
         this.youtubeClient = youtubeClient;
     }
@@ -73,14 +82,116 @@ public abstract class Player {
         if (player.isPaused())
             resume();
 
-        if (track == null) {
-            onEnd(true);
-        } else {
+        long request;
+        synchronized (playLock) {
+            request = ++playRequests;
+            resolving = null;
+        }
+        playResolved(track, request);
+    }
+
+    /**
+     * Starts the next queued track unless a track is playing or being resolved, both checked under the same lock
+     * so tracks queued at the same time do not start twice
+     */
+    private void playNextIfIdle() {
+        AudioTrack next;
+        long request;
+        synchronized (playLock) {
+            if (isPlaying() || resolving != null)
+                return;
+            next = pollTrack();
+            request = ++playRequests;
+        }
+
+        if (player.isPaused())
+            resume();
+        playResolved(next, request);
+    }
+
+    /**
+     * Plays the given track once it is resolved, tracks which cannot be resolved are skipped until a playable one is found.
+     * Resolutions complete on the resolver threads. Starting a track there is safe without hopping threads,
+     * as every start checks the request under {@link #playLock}, the queue synchronizes itself and {@link #save()} only marks the player dirty.
+     */
+    private void playResolved(AudioTrack track, long request) {
+        AudioTrackFactory factory = GroovyBot.getInstance().getLavalinkManager().getAudioTrackFactory();
+        while (track != null) {
+            CompletableFuture<AudioTrack> resolution = factory.resolve(track);
+            if (!resolution.isDone()) {
+                synchronized (playLock) {
+                    // Another track was requested in the meantime
+                    if (request != playRequests)
+                        return;
+                    // Keeps newly queued tracks from starting while this one resolves
+                    resolving = track;
+                }
+                AudioTrack requested = track;
+                resolution.whenComplete((resolved, throwable) -> onResolved(requested, resolved, request));
+                return;
+            }
+
+            AudioTrack resolved = resolution.isCompletedExceptionally() ? null : resolution.join();
+            if (isPlayable(resolved)) {
+                startTrack(resolved, request);
+                return;
+            }
+            announce(track, AnnounceReason.ERROR);
+            track = pollTrack();
+        }
+
+        synchronized (playLock) {
+            if (request != playRequests)
+                return;
+            resolving = null;
+        }
+        onEnd(true);
+    }
+
+    private void onResolved(AudioTrack requested, AudioTrack resolved, long request) {
+        synchronized (playLock) {
+            // Another track was requested or the player was stopped while this one was resolving
+            if (request != playRequests)
+                return;
+        }
+
+        if (isPlayable(resolved)) {
+            startTrack(resolved, request);
+            return;
+        }
+        announce(requested, AnnounceReason.ERROR);
+        playResolved(pollTrack(), request);
+    }
+
+    private static boolean isPlayable(AudioTrack track) {
+        return track != null && !track.getIdentifier().isEmpty();
+    }
+
+    private void startTrack(AudioTrack track, long request) {
+        synchronized (playLock) {
+            if (request != playRequests)
+                return;
+            resolving = null;
             player.playTrack(track);
         }
+        resolveUpcoming();
+    }
+
+    /**
+     * Starts resolving the next few deferred tracks in the background so they are ready once they get played
+     */
+    private void resolveUpcoming() {
+        for (AudioTrack upcoming : trackQueue.head(resolveLookahead))
+            if (upcoming instanceof DeferredAudioTrack)
+                ((DeferredAudioTrack) upcoming).resolve();
     }
 
     public void stop() {
+        synchronized (playLock) {
+            // Drops a track which is still being resolved
+            playRequests++;
+            resolving = null;
+        }
         player.stopTrack();
     }
 
@@ -106,6 +217,13 @@ public abstract class Player {
         return player.getPlayingTrack() != null;
     }
 
+    /**
+     * Returns whether a track was requested but is still being looked up
+     */
+    public boolean isResolving() {
+        return resolving != null;
+    }
+
     public AudioTrack pollTrack() {
         if (trackQueue.isEmpty()) return null;
         AudioTrack track = trackQueue.poll();
@@ -119,17 +237,22 @@ public abstract class Player {
             return;
         }
 
-        if (top) ((LinkedList<AudioTrack>) trackQueue).addFirst(audioTrack);
+        if (top) trackQueue.addFirst(audioTrack);
         else trackQueue.add(audioTrack);
+        save();
 
-        if (!isPlaying()) play(pollTrack());
+        playNextIfIdle();
     }
 
     public void queueTracks(AudioTrack... tracks) {
-        List<AudioTrack> trackList = new ArrayList<>();
-        Collections.addAll(trackList, tracks);
-        trackQueue.addAll(trackList);
-        if (!isPlaying()) play(pollTrack());
+        queueTracks(Arrays.asList(tracks));
+    }
+
+    public void queueTracks(Collection<AudioTrack> tracks) {
+        trackQueue.addAll(tracks);
+        save();
+        playNextIfIdle();
+        resolveUpcoming();
     }
 
     public void skipTo(int delimiter) {
@@ -140,12 +263,12 @@ public abstract class Player {
             return;
         }
 
-        for (int i = 1; i < delimiter; i++) pollTrack();
+        trackQueue.removeFirst(delimiter - 1);
         play(pollTrack());
     }
 
 
-    protected abstract void save();
+    public abstract void save();
 
     public int getQueueSize() {
         return trackQueue.size();
@@ -157,6 +280,7 @@ public abstract class Player {
 
     public void clearQueue() {
         trackQueue.clear();
+        save();
     }
 
     public boolean isPaused() {
@@ -181,17 +305,20 @@ public abstract class Player {
 
     public void purgeQueue() {
         trackQueue.clear();
+        save();
     }
 
     public long getQueueLengthMillis() {
         if (trackQueue == null) return 0;
-        AtomicLong millis = new AtomicLong();
-        trackQueue.forEach(track -> millis.addAndGet(track.getDuration()));
-        if (trackQueue.toArray().length > 0) {
-            millis.addAndGet(getPlayer().getPlayingTrack().getDuration() - getPlayer().getPlayingTrack().getPosition());
-            millis.getAndAdd(-((AudioTrack) trackQueue.toArray()[trackQueue.toArray().length - 1]).getDuration());
+        List<AudioTrack> tracks = trackQueue.snapshot();
+        long millis = 0;
+        for (AudioTrack track : tracks)
+            millis += track.getDuration();
+        if (!tracks.isEmpty()) {
+            millis += getPlayer().getPlayingTrack().getDuration() - getPlayer().getPlayingTrack().getPosition();
+            millis -= tracks.get(tracks.size() - 1).getDuration();
         }
-        return millis.get();
+        return millis;
     }
 
     public abstract void resetSkipVotes();
@@ -1,6 +1,8 @@
 package co.groovybot.bot.core.audio;
 
+import co.groovybot.bot.util.NameThreadFactory;
 import com.google.common.util.concurrent.Futures;
+import lombok.extern.log4j.Log4j2;
 import net.dv8tion.jda.core.entities.GuildVoiceState;
 import net.dv8tion.jda.core.events.guild.voice.GenericGuildVoiceEvent;
 import net.dv8tion.jda.core.events.guild.voice.GuildVoiceJoinEvent;
@@ -8,25 +10,40 @@ import net.dv8tion.jda.core.events.guild.voice.GuildVoiceLeaveEvent;
 import net.dv8tion.jda.core.events.guild.voice.GuildVoiceMoveEvent;
 import net.dv8tion.jda.core.hooks.SubscribeEvent;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+@Log4j2
 @SuppressWarnings("unused")
 public class PlayerCheckHandler {
 
+    // Shared by all players, cancelled checks are removed from the queue right away
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+    // Runs the checks themselves, so a slow leave never delays the timers of other guilds
+    private static final ExecutorService checker = Executors.newFixedThreadPool(4, new NameThreadFactory("PlayerCheckWorker"));
+
     private final MusicPlayer player;
-    private final ScheduledExecutorService scheduler;
 
     private Future isAloneFuture = Futures.immediateFuture(null);
     private Future isNotPlayingFuture = Futures.immediateFuture(null);
     private Future isPausedFuture = Futures.immediateFuture(null);
 
-    public PlayerCheckHandler(MusicPlayer player, int poolSize) {
+    public PlayerCheckHandler(MusicPlayer player) {
         this.player = player;
-        this.scheduler = Executors.newScheduledThreadPool(poolSize);
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new NameThreadFactory("PlayerCheck"));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    public static int getActiveTimers() {
+        return scheduler.getQueue().size();
     }
 
     private void isAlone() {
@@ -37,7 +54,7 @@ public class PlayerCheckHandler {
 
     private void isNotPlaying() {
         if (player.checkLeave())
-            if (!player.isPlaying())
+            if (!player.isPlaying() && !player.isResolving())
                 player.leave(player.translate("phrases.left.notplaying"));
     }
 
@@ -59,7 +76,7 @@ public class PlayerCheckHandler {
     private void onLeave(GuildVoiceLeaveEvent event) {
         handleVoiceEvent(event, voiceState -> {
             if (voiceState.getChannel().getMembers().size() == 1)
-                isAloneFuture = scheduler.scheduleAtFixedRate(this::isAlone, 20, 20, TimeUnit.SECONDS);
+                isAloneFuture = schedule(isAloneFuture, this::isAlone, 20, TimeUnit.SECONDS);
         });
     }
 
@@ -67,7 +84,7 @@ public class PlayerCheckHandler {
     private void onMove(GuildVoiceMoveEvent event) {
         handleVoiceEvent(event, voiceState -> {
             if (voiceState.getChannel().getMembers().size() == 1)
-                isAloneFuture = scheduler.scheduleAtFixedRate(this::isAlone, 20, 20, TimeUnit.SECONDS);
+                isAloneFuture = schedule(isAloneFuture, this::isAlone, 20, TimeUnit.SECONDS);
         });
     }
 
@@ -86,16 +103,29 @@ public class PlayerCheckHandler {
             future.cancel(false);
     }
 
+    private Future schedule(Future previous, Runnable check, long period, TimeUnit unit) {
+        cancelFuture(previous);
+        return scheduler.scheduleAtFixedRate(() -> checker.execute(() -> {
+            try {
+                check.run();
+            } catch (Exception e) {
+                log.error("[PlayerCheckHandler] Error while checking player", e);
+            }
+        }), period, period, unit);
+    }
+
     public void handlePlayerLeave() {
+        cancelFuture(isAloneFuture);
         cancelFuture(isNotPlayingFuture);
+        cancelFuture(isPausedFuture);
     }
 
     public void handlePlayerJoin() {
-        isNotPlayingFuture = scheduler.scheduleAtFixedRate(this::isNotPlaying, 10, 10, TimeUnit.MINUTES);
+        isNotPlayingFuture = schedule(isNotPlayingFuture, this::isNotPlaying, 10, TimeUnit.MINUTES);
     }
 
     public void handleTrackPause() {
-        isPausedFuture = scheduler.scheduleAtFixedRate(this::isPaused, 30, 30, TimeUnit.MINUTES);
+        isPausedFuture = schedule(isPausedFuture, this::isPaused, 30, TimeUnit.MINUTES);
     }
 
     public void handleTrackResume() {
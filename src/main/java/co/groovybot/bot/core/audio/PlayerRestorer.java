@@ -0,0 +1,266 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio;
+
+import co.groovybot.bot.GroovyBot;
+import co.groovybot.bot.core.audio.codec.TrackListCodec;
+import co.groovybot.bot.util.EmbedUtil;
+import co.groovybot.bot.util.NameThreadFactory;
+import co.groovybot.bot.util.SafeMessage;
+import com.google.common.util.concurrent.RateLimiter;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.zaxxer.hikari.HikariDataSource;
+import lavalink.client.LavalinkUtil;
+import lombok.extern.log4j.Log4j2;
+import net.dv8tion.jda.core.Permission;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.VoiceChannel;
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Restores the players saved in the queues table after a restart.
+ * Rows are streamed from the database, decoded in parallel and the players are then connected one after another,
+ * limited by a token bucket so reconnecting thousands of guilds does not hit the gateway limits
+ */
+@Log4j2
+class PlayerRestorer {
+
+    private static final int FETCH_SIZE = 250;
+
+    private final MusicPlayerManager manager;
+    private final HikariDataSource dataSource;
+    private final RateLimiter connectLimiter;
+    private final ExecutorService decoder;
+    private final AtomicLong decodeMillis = new AtomicLong();
+
+    PlayerRestorer(MusicPlayerManager manager, HikariDataSource dataSource, double connectsPerSecond) {
+        this.manager = manager;
+        this.dataSource = dataSource;
+        this.connectLimiter = RateLimiter.create(connectsPerSecond);
+        this.decoder = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), new NameThreadFactory("PlayerRestoreDecoder"));
+    }
+
+    /**
+     * Loads all saved players and starts decoding them. The rows are kept until the players were restored,
+     * so a crash during the restore does not lose them
+     */
+    List<CompletableFuture<SavedPlayer>> load() throws SQLException {
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<SavedPlayer>> pending = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            // The driver only honours the fetch size inside a transaction
+            connection.setAutoCommit(false);
+            try {
+                PreparedStatement ps = connection.prepareStatement("SELECT * FROM queues");
+                ps.setFetchSize(FETCH_SIZE);
+                ResultSet rs = ps.executeQuery();
+
+                while (rs.next()) {
+                    SavedPlayer saved = new SavedPlayer(rs);
+                    pending.add(CompletableFuture.supplyAsync(() -> decode(saved), decoder));
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                decoder.shutdownNow();
+                throw e;
+            }
+        }
+
+        decoder.shutdown();
+        log.info("[PlayerRestorer] Loaded {} saved players in {}ms", pending.size(), System.currentTimeMillis() - start);
+        return pending;
+    }
+
+    /**
+     * Connects the decoded players in the order they were loaded, on a separate thread
+     */
+    CompletableFuture<Integer> restore(List<CompletableFuture<SavedPlayer>> pending) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        Thread thread = new NameThreadFactory("PlayerRestore").newThread(() -> {
+            long start = System.currentTimeMillis();
+            int restored = 0;
+            // Restored players are written by the checkpointer again, rows of queues which cannot be decoded are kept
+            List<Long> obsolete = new ArrayList<>();
+
+            for (CompletableFuture<SavedPlayer> future : pending) {
+                try {
+                    SavedPlayer saved = future.join();
+                    if (saved == null)
+                        continue;
+                    if (apply(saved))
+                        restored++;
+                    else
+                        obsolete.add(saved.guildId);
+                } catch (RuntimeException e) {
+                    log.error("[PlayerRestorer] Error while restoring player!", e);
+                }
+            }
+
+            delete(obsolete);
+
+            log.info("[PlayerRestorer] Restored {} of {} players (decode: {}ms cpu, connect: {}ms)", restored, pending.size(), decodeMillis.get(), System.currentTimeMillis() - start);
+            result.complete(restored);
+        });
+        thread.start();
+        return result;
+    }
+
+    private void delete(List<Long> guildIds) {
+        if (guildIds.isEmpty())
+            return;
+
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM queues WHERE guild_id = ?");
+            for (Long guildId : guildIds) {
+                ps.setLong(1, guildId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            log.error("[PlayerRestorer] Error while removing saved players!", e);
+        }
+    }
+
+    private SavedPlayer decode(SavedPlayer saved) {
+        long start = System.nanoTime();
+        try {
+            saved.currentTrack = LavalinkUtil.toAudioTrack(saved.encodedCurrentTrack);
+            if (saved.encodedQueue != null)
+                saved.queue = TrackListCodec.decode(saved.encodedQueue);
+            else if (saved.legacyQueue != null)
+                for (Object track : new JSONArray(saved.legacyQueue))
+                    saved.queue.add(LavalinkUtil.toAudioTrack(track.toString()));
+            return saved;
+        } catch (IOException | RuntimeException e) {
+            log.warn("[PlayerRestorer] Could not decode queue of guild {}", saved.guildId, e);
+            return null;
+        } finally {
+            saved.encodedQueue = null;
+            saved.legacyQueue = null;
+            decodeMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private boolean apply(SavedPlayer saved) {
+        Guild guild = GroovyBot.getInstance().getShardManager().getGuildById(saved.guildId);
+
+        if (guild == null)
+            return false;
+
+        TextChannel textChannel = guild.getTextChannelById(saved.textChannelId);
+
+        if (textChannel == null) {
+            textChannel = guild.getTextChannels().stream().filter(TextChannel::canTalk).filter(channel -> channel.getName().toLowerCase().contains("bot") || channel.getName().toLowerCase().contains("command") || channel.getName().toLowerCase().contains("music")).findFirst().orElse(guild.getTextChannels().stream().filter(TextChannel::canTalk).findFirst().orElse(null));
+
+            if (textChannel == null)
+                return false;
+        }
+
+        VoiceChannel voiceChannel = guild.getVoiceChannelById(saved.voiceChannelId);
+
+        if (voiceChannel == null)
+            return false;
+
+        MusicPlayer player = manager.getPlayer(guild, textChannel);
+
+        if (!guild.getSelfMember().hasPermission(voiceChannel, Permission.VOICE_CONNECT, Permission.VOICE_SPEAK)) {
+            SafeMessage.sendMessage(textChannel, EmbedUtil.error("Error", "Groovy is not able to join this voicechannel."));
+            return false;
+        }
+
+        if (voiceChannel.getUserLimit() != 0 && !guild.getSelfMember().hasPermission(voiceChannel, Permission.ADMINISTRATOR) && !guild.getSelfMember().hasPermission(voiceChannel, Permission.VOICE_MOVE_OTHERS) && voiceChannel.getMembers().size() >= voiceChannel.getUserLimit()) {
+            SafeMessage.sendMessage(textChannel, EmbedUtil.error("Error", "Groovy is not able to join this voicechannel as its limit is already reached."));
+            return false;
+        }
+
+        player.getScheduler().setLoopqueue(saved.loopQueue);
+        player.getScheduler().setLoop(saved.loop);
+        player.getScheduler().setShuffle(saved.shuffle);
+        player.getScheduler().setAutoPlay(saved.autoPlay);
+
+        player.setBassboost(saved.bassboost);
+        player.setSkipVotes(saved.skipVotes);
+
+        connectLimiter.acquire();
+        player.connect(voiceChannel);
+
+        player.setVolume(saved.volume);
+
+        player.play(saved.currentTrack);
+        player.seekTo(saved.position);
+
+        if (!saved.queue.isEmpty())
+            player.queueTracks(saved.queue);
+        return true;
+    }
+
+    static class SavedPlayer {
+
+        private final long guildId;
+        private final long textChannelId;
+        private final long voiceChannelId;
+        private final String encodedCurrentTrack;
+        private final long position;
+        private final int volume;
+        private final String bassboost;
+        private final int skipVotes;
+        private final boolean loopQueue;
+        private final boolean loop;
+        private final boolean shuffle;
+        private final boolean autoPlay;
+        private byte[] encodedQueue;
+        private String legacyQueue;
+        private AudioTrack currentTrack;
+        private List<AudioTrack> queue = new ArrayList<>();
+
+        private SavedPlayer(ResultSet rs) throws SQLException {
+            this.guildId = rs.getLong("guild_id");
+            this.textChannelId = rs.getLong("text_channel_id");
+            this.voiceChannelId = rs.getLong("channel_id");
+            this.encodedCurrentTrack = rs.getString("current_track");
+            this.position = rs.getLong("current_position");
+            this.volume = rs.getInt("volume");
+            this.bassboost = rs.getString("bassboost");
+            this.skipVotes = rs.getInt("skip_votes");
+            this.loopQueue = rs.getBoolean("loop_queue");
+            this.loop = rs.getBoolean("loop");
+            this.shuffle = rs.getBoolean("shuffle");
+            this.autoPlay = rs.getBoolean("auto_play");
+            this.encodedQueue = rs.getBytes("queue_data");
+            this.legacyQueue = rs.getString("queue");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio;
+
+import co.groovybot.bot.util.NameThreadFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import lavalink.client.LavalinkUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the queues of changed players to the database, so they survive a crash
+ */
+@Log4j2
+public class QueueCheckpointer implements Closeable {
+
+    private static final String UPSERT_QUEUE = "INSERT INTO queues (guild_id, current_track, current_position, queue_data, channel_id, text_channel_id, volume, bassboost, skip_votes, loop_queue, loop, shuffle, auto_play) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?) " +
+            "ON CONFLICT (guild_id) DO UPDATE SET current_track = excluded.current_track, current_position = excluded.current_position, queue_data = excluded.queue_data, queue = NULL, channel_id = excluded.channel_id, text_channel_id = excluded.text_channel_id, volume = excluded.volume, bassboost = excluded.bassboost, skip_votes = excluded.skip_votes, loop_queue = excluded.loop_queue, loop = excluded.loop, shuffle = excluded.shuffle, auto_play = excluded.auto_play";
+    private static final String DELETE_QUEUE = "DELETE FROM queues WHERE guild_id = ?";
+
+    private final HikariDataSource dataSource;
+    private final Map<Long, MusicPlayer> players;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // Guilds whose state was written for an update and must not be touched until they connect again
+    private final Set<Long> retained = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    public QueueCheckpointer(HikariDataSource dataSource, Map<Long, MusicPlayer> players) {
+        this.dataSource = dataSource;
+        this.players = players;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new NameThreadFactory("QueueCheckpointer"));
+        scheduler.scheduleWithFixedDelay(this::flush, 5, 5, TimeUnit.SECONDS);
+    }
+
+    public void markDirty(long guildId) {
+        if (!retained.contains(guildId))
+            dirty.add(guildId);
+    }
+
+    public void release(long guildId) {
+        retained.remove(guildId);
+    }
+
+    /**
+     * Writes the state of the given player right away and keeps it until the player connects again
+     */
+    public synchronized void persist(MusicPlayer player) throws SQLException, IOException {
+        long guildId = player.getGuild().getIdLong();
+        retained.add(guildId);
+        dirty.remove(guildId);
+
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_QUEUE);
+            bind(ps, player);
+            ps.execute();
+        }
+    }
+
+    public synchronized void flush() {
+        if (dirty.isEmpty())
+            return;
+
+        List<Long> guildIds = new ArrayList<>(dirty);
+        dirty.removeAll(guildIds);
+
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement upsert = connection.prepareStatement(UPSERT_QUEUE);
+            PreparedStatement delete = connection.prepareStatement(DELETE_QUEUE);
+
+            for (Long guildId : guildIds) {
+                if (retained.contains(guildId))
+                    continue;
+
+                MusicPlayer player = players.get(guildId);
+                if (player == null || !player.isPlaying() || player.getVoiceChannel() == null) {
+                    delete.setLong(1, guildId);
+                    delete.addBatch();
+                    continue;
+                }
+
+                try {
+                    bind(upsert, player);
+                    upsert.addBatch();
+                } catch (IOException | RuntimeException e) {
+                    // E.g. the player stopped between the check above and binding its state, try again with the next flush
+                    log.warn("[QueueCheckpointer] Could not encode queue of guild {}", guildId, e);
+                    dirty.add(guildId);
+                }
+            }
+
+            upsert.executeBatch();
+            delete.executeBatch();
+        } catch (SQLException e) {
+            log.error("[QueueCheckpointer] Error while saving queues!", e);
+            dirty.addAll(guildIds);
+        }
+    }
+
+    private void bind(PreparedStatement ps, MusicPlayer player) throws SQLException, IOException {
+        ps.setLong(1, player.getGuild().getIdLong());
+        ps.setString(2, LavalinkUtil.toMessage(player.getPlayer().getPlayingTrack()));
+        ps.setLong(3, player.getPlayer().getTrackPosition());
+        ps.setBytes(4, player.getEncodedQueue());
+        ps.setLong(5, player.getVoiceChannel().getIdLong());
+        ps.setLong(6, player.getChannel().getIdLong());
+        ps.setInt(7, player.getPlayer().getVolume());
+        ps.setString(8, player.getBassboost());
+        ps.setInt(9, player.getSkipVotes());
+        ps.setBoolean(10, player.getScheduler().isLoopqueue());
+        ps.setBoolean(11, player.getScheduler().isLoop());
+        ps.setBoolean(12, player.getScheduler().isShuffle());
+        ps.setBoolean(13, player.getScheduler().isAutoPlay());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+}
@@ -42,7 +42,6 @@ import net.dv8tion.jda.core.entities.Message;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.LinkedList;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -124,8 +123,7 @@ public class Scheduler extends AudioEventAdapterWrapped {
                         player.onEnd(true);
                     } else {
                         final int index = ThreadLocalRandom.current().nextInt(player.trackQueue.size());
-                        nextTrack = ((LinkedList<AudioTrack>) player.trackQueue).get(index);
-                        ((LinkedList<AudioTrack>) player.trackQueue).remove(index);
+                        nextTrack = player.trackQueue.remove(index);
                     }
                 }
 
@@ -0,0 +1,97 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.codec;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import lavalink.client.LavalinkUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binary container for lists of tracks, stored in {@code bytea} columns
+ * <p>
+ * Layout: {@code 'G' 'T' version flags} followed by the (optionally deflated) entries.
+ * Each entry is either an inline track blob ({@code 1 varint(length) bytes}), a reference
+ * to a previous blob ({@code 2 varint(index)}) or the end marker ({@code 0}).
+ */
+@Log4j2
+public class TrackListCodec {
+
+    static final byte MAGIC_0 = 'G';
+    static final byte MAGIC_1 = 'T';
+    static final byte VERSION = 1;
+
+    static final int FLAG_DEDUPLICATE = 1;
+    static final int FLAG_COMPRESSED = 1 << 1;
+
+    static final int ENTRY_END = 0;
+    static final int ENTRY_INLINE = 1;
+    static final int ENTRY_REFERENCE = 2;
+
+    static final int MAX_BLOB_LENGTH = 1 << 20;
+
+    // Small lists do not shrink enough to be worth the deflater
+    private static final int COMPRESSION_THRESHOLD = 16;
+
+    public static byte[] encode(Collection<AudioTrack> tracks) throws IOException {
+        return encode(tracks, true, shouldCompress(tracks.size()));
+    }
+
+    public static boolean shouldCompress(int trackCount) {
+        return trackCount >= COMPRESSION_THRESHOLD;
+    }
+
+    public static byte[] encode(Collection<AudioTrack> tracks, boolean deduplicate, boolean compress) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(tracks.size() * 128 + 8);
+        try (TrackListWriter writer = new TrackListWriter(outputStream, deduplicate, compress)) {
+            for (AudioTrack track : tracks)
+                writer.write(track);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decodes all tracks of the given container, tracks which cannot be decoded anymore are skipped
+     */
+    public static List<AudioTrack> decode(byte[] data) throws IOException {
+        List<AudioTrack> tracks = new ArrayList<>();
+        try (TrackListReader reader = new TrackListReader(new ByteArrayInputStream(data))) {
+            byte[] blob;
+            while ((blob = reader.readBlob()) != null) {
+                try {
+                    tracks.add(LavalinkUtil.toAudioTrack(blob));
+                } catch (IOException e) {
+                    log.warn("[TrackListCodec] Error while decoding track", e);
+                }
+            }
+        }
+        return tracks;
+    }
+
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 4 && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.codec;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import lavalink.client.LavalinkUtil;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streams tracks out of the container format described in {@link TrackListCodec}
+ */
+public class TrackListReader implements Closeable {
+
+    private final DataInputStream input;
+    private final List<byte[]> blobs;
+    private boolean finished;
+
+    public TrackListReader(InputStream source) throws IOException {
+        int magic0 = source.read();
+        int magic1 = source.read();
+        int version = source.read();
+        int flags = source.read();
+
+        if (magic0 != TrackListCodec.MAGIC_0 || magic1 != TrackListCodec.MAGIC_1)
+            throw new IOException("Not a track list");
+        if (version < 1 || version > TrackListCodec.VERSION)
+            throw new IOException("Unsupported track list version " + version);
+
+        this.input = new DataInputStream(new BufferedInputStream((flags & TrackListCodec.FLAG_COMPRESSED) != 0 ? new InflaterInputStream(source) : source, 4096));
+        this.blobs = (flags & TrackListCodec.FLAG_DEDUPLICATE) != 0 ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Returns the next encoded track or {@code null} when the end of the list was reached
+     */
+    public byte[] readBlob() throws IOException {
+        if (finished)
+            return null;
+
+        int type = input.readUnsignedByte();
+        switch (type) {
+            case TrackListCodec.ENTRY_END:
+                finished = true;
+                return null;
+            case TrackListCodec.ENTRY_INLINE:
+                int length = readVarInt();
+                if (length < 0 || length > TrackListCodec.MAX_BLOB_LENGTH)
+                    throw new IOException("Invalid track length " + length);
+                byte[] blob = new byte[length];
+                input.readFully(blob);
+                if (blobs != null)
+                    blobs.add(blob);
+                return blob;
+            case TrackListCodec.ENTRY_REFERENCE:
+                int index = readVarInt();
+                if (blobs == null || index < 0 || index >= blobs.size())
+                    throw new IOException("Invalid track reference " + index);
+                return blobs.get(index);
+            default:
+                throw new IOException("Unknown entry type " + type);
+        }
+    }
+
+    /**
+     * Returns the next track or {@code null} when the end of the list was reached.
+     * If a track cannot be decoded, the reader is still positioned behind it so reading can continue.
+     */
+    public AudioTrack read() throws IOException {
+        byte[] blob = readBlob();
+        return blob == null ? null : LavalinkUtil.toAudioTrack(blob);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.codec;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import lavalink.client.LavalinkUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Streams tracks into the container format described in {@link TrackListCodec}
+ */
+public class TrackListWriter implements Closeable {
+
+    private final OutputStream target;
+    private final DataOutputStream output;
+    private final Deflater deflater;
+    private final DeflaterOutputStream deflaterStream;
+    private final Map<ByteBuffer, Integer> written;
+    private int entries;
+    private boolean closed;
+
+    public TrackListWriter(OutputStream target, boolean deduplicate, boolean compress) throws IOException {
+        this.target = target;
+        target.write(TrackListCodec.MAGIC_0);
+        target.write(TrackListCodec.MAGIC_1);
+        target.write(TrackListCodec.VERSION);
+        target.write((deduplicate ? TrackListCodec.FLAG_DEDUPLICATE : 0) | (compress ? TrackListCodec.FLAG_COMPRESSED : 0));
+
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.deflaterStream = compress ? new DeflaterOutputStream(target, deflater, 4096) : null;
+        this.output = new DataOutputStream(new BufferedOutputStream(compress ? deflaterStream : target, 4096));
+        this.written = deduplicate ? new HashMap<>() : null;
+    }
+
+    public void write(AudioTrack track) throws IOException {
+        writeBlob(LavalinkUtil.toBinary(track));
+    }
+
+    /**
+     * Writes an already encoded track, e.g. when migrating existing data without decoding it
+     */
+    public void writeBlob(byte[] blob) throws IOException {
+        if (written != null) {
+            Integer index = written.putIfAbsent(ByteBuffer.wrap(blob), entries);
+            if (index != null) {
+                output.writeByte(TrackListCodec.ENTRY_REFERENCE);
+                writeVarInt(index);
+                return;
+            }
+        }
+
+        output.writeByte(TrackListCodec.ENTRY_INLINE);
+        writeVarInt(blob.length);
+        output.write(blob);
+        entries++;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Writes the end marker and flushes, without closing the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        output.writeByte(TrackListCodec.ENTRY_END);
+        output.flush();
+        if (deflaterStream != null) {
+            deflaterStream.finish();
+            deflater.end();
+        }
+        target.flush();
+    }
+}
@@ -32,4 +32,6 @@ public class TrackData {
     private final String uri;
     private final List<String> artists;
     private final long duration;
+    private final String source;
+    private final String externalId;
 }
@@ -0,0 +1,115 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.audio.playlists;
+
+import co.groovybot.bot.core.entity.entities.GroovyPlaylist;
+import co.groovybot.bot.util.NameThreadFactory;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most loaded public playlists in memory. Play count and visibility changes are applied as they happen,
+ * a periodic reload from the database only catches up with changes made elsewhere.
+ */
+@Log4j2
+public class PlaylistLeaderboard implements Closeable {
+
+    private static final Comparator<GroovyPlaylist> BY_COUNT = Comparator.comparingInt(GroovyPlaylist::getCount).reversed();
+
+    private final PlaylistManager playlistManager;
+    private final int size;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new NameThreadFactory("PlaylistLeaderboard"));
+    private volatile List<GroovyPlaylist> top = Collections.emptyList();
+
+    PlaylistLeaderboard(PlaylistManager playlistManager, int size, long refreshMinutes) {
+        this.playlistManager = playlistManager;
+        this.size = size;
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Returns the current leaderboard, best playlist first
+     */
+    public List<GroovyPlaylist> getTop() {
+        return top;
+    }
+
+    /**
+     * Re-ranks a playlist after its play count or visibility changed
+     */
+    public synchronized void offer(GroovyPlaylist playlist) {
+        boolean listed = top.stream().anyMatch(entry -> entry.getId().equals(playlist.getId()));
+        if (!playlist.isPublic()) {
+            if (listed)
+                remove(playlist.getId());
+            return;
+        }
+        if (!listed && top.size() >= size && top.get(top.size() - 1).getCount() >= playlist.getCount())
+            return;
+
+        List<GroovyPlaylist> entries = new ArrayList<>(top);
+        entries.removeIf(entry -> entry.getId().equals(playlist.getId()));
+        entries.add(playlist);
+        entries.sort(BY_COUNT);
+        publish(entries);
+    }
+
+    /**
+     * Drops a playlist from the leaderboard and reloads it in the background to fill the free place
+     */
+    public synchronized void remove(long playlistId) {
+        List<GroovyPlaylist> entries = new ArrayList<>(top);
+        if (entries.removeIf(entry -> entry.getId() == playlistId)) {
+            publish(entries);
+            if (!scheduler.isShutdown())
+                scheduler.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        try {
+            List<GroovyPlaylist> entries = new ArrayList<>(playlistManager.loadTopPlaylists(size));
+            // Cached playlists may already count plays that are not written yet
+            entries.sort(BY_COUNT);
+            synchronized (this) {
+                publish(entries);
+            }
+        } catch (SQLException e) {
+            log.error("[PlaylistLeaderboard] Error while refreshing leaderboard", e);
+        }
+    }
+
+    private void publish(List<GroovyPlaylist> entries) {
+        top = Collections.unmodifiableList(new ArrayList<>(entries.subList(0, Math.min(size, entries.size()))));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+}
@@ -20,53 +20,103 @@
 package co.groovybot.bot.core.audio.playlists;
 
 import co.groovybot.bot.core.entity.entities.GroovyPlaylist;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.relops.snowflake.Snowflake;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.zaxxer.hikari.HikariDataSource;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Caches playlists by author and by id. Both caches share the same {@link GroovyPlaylist} instances,
+ * so changes to tracks, visibility and play count are visible through either of them.
+ * The id cache owns the instances: evicting a playlist from it also drops its author's entry.
+ * Creating, renaming and deleting a playlist invalidates the author's entry.
+ */
 @Log4j2
-@RequiredArgsConstructor
 public class PlaylistManager {
 
+    private static final String SELECT = "SELECT p.*, (SELECT count(*) FROM playlist_tracks t WHERE t.playlist_id = p.id) AS track_count FROM playlists p ";
+
     private final HikariDataSource dataSource;
+    @Getter
+    private final PlaylistTrackRepository trackRepository;
     private final Snowflake generator = new Snowflake(1);
+    private final LoadingCache<Long, Map<String, GroovyPlaylist>> authorCache;
+    private final Cache<Long, GroovyPlaylist> idCache;
+    @Getter
+    private final PlaylistPlayCounter playCounter;
+    @Getter
+    private final PlaylistLeaderboard leaderboard;
+
+    public PlaylistManager(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.trackRepository = new PlaylistTrackRepository(dataSource);
+        this.authorCache = CacheBuilder.newBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(30, TimeUnit.MINUTES)
+                .build(new CacheLoader<Long, Map<String, GroovyPlaylist>>() {
+                    @Override
+                    public Map<String, GroovyPlaylist> load(Long authorId) throws SQLException {
+                        return loadPlaylists(authorId);
+                    }
+                });
+        // The author maps must never hold an instance which is not in here anymore, otherwise a second one gets created
+        this.idCache = CacheBuilder.newBuilder()
+                .maximumSize(20000)
+                .expireAfterAccess(30, TimeUnit.MINUTES)
+                .removalListener((RemovalListener<Long, GroovyPlaylist>) notification -> {
+                    if (notification.wasEvicted())
+                        authorCache.invalidate(notification.getValue().getAuthorId());
+                })
+                .build();
+        this.playCounter = new PlaylistPlayCounter(dataSource);
+        this.leaderboard = new PlaylistLeaderboard(this, 10, 10);
+    }
 
     public GroovyPlaylist createPlaylist(String name, Long ownerId, List<AudioTrack> tracks) {
-        return new GroovyPlaylist(name, generator.next(), ownerId, tracks);
+        GroovyPlaylist groovyPlaylist = new GroovyPlaylist(name, generator.next(), ownerId, tracks);
+        idCache.put(groovyPlaylist.getId(), groovyPlaylist);
+        authorCache.invalidate(ownerId);
+        return groovyPlaylist;
     }
 
     public Map<String, GroovyPlaylist> getPlaylist(Long authorId) {
-        Map<String, GroovyPlaylist> playlists = new HashMap<>();
-        try (Connection connection = dataSource.getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("SELECT * FROM playlists WHERE author_id = ?");
-            ps.setLong(1, authorId);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                GroovyPlaylist groovyPlaylist = new GroovyPlaylist(rs);
-                playlists.put(groovyPlaylist.getName().toLowerCase(), groovyPlaylist);
-            }
-        } catch (SQLException e) {
-            log.error("[GroovyPlaylist] Error while retrieving playlist", e);
+        try {
+            return authorCache.get(authorId);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.error("[GroovyPlaylist] Error while retrieving playlist", e.getCause());
+            return Collections.emptyMap();
         }
-        return playlists;
     }
 
     public GroovyPlaylist getPlaylistById(Long id) {
+        GroovyPlaylist cached = idCache.getIfPresent(id);
+        if (cached != null)
+            return cached;
+
         try (Connection connection = dataSource.getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("SELECT * FROM playlists WHERE id = ?");
+            PreparedStatement ps = connection.prepareStatement(SELECT + "WHERE id = ?");
             ps.setLong(1, id);
             ResultSet rs = ps.executeQuery();
-            if (rs.next()) return new GroovyPlaylist(rs);
+            if (rs.next()) return resolve(rs);
         } catch (SQLException e) {
             log.error("[GroovyPlaylist] Error while retrieving playlist", e);
         }
@@ -75,29 +125,69 @@ public class PlaylistManager {
 
     public void deletePlaylist(String name, Long authorId) {
         try (Connection connection = dataSource.getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("DELETE FROM playlists WHERE author_id = ? AND name = ?");
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM playlists WHERE author_id = ? AND name = ? RETURNING id");
             ps.setLong(1, authorId);
             ps.setString(2, name);
-            ps.execute();
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                idCache.invalidate(rs.getLong("id"));
+                playCounter.forget(rs.getLong("id"));
+                leaderboard.remove(rs.getLong("id"));
+            }
         } catch (SQLException e) {
             log.error("[GroovyPlaylist] Error while deleting playlist", e);
         }
+        authorCache.invalidate(authorId);
     }
 
+    /**
+     * Drops the cached playlists of an author, e.g. after one of them was renamed
+     */
+    public void invalidate(Long authorId) {
+        authorCache.invalidate(authorId);
+    }
+
+    /**
+     * Returns the three most loaded public playlists, served from memory by the {@link PlaylistLeaderboard}
+     */
     public Map<Integer, GroovyPlaylist> getTopPlaylists() {
         Map<Integer, GroovyPlaylist> topPlaylists = new HashMap<>();
+        List<GroovyPlaylist> top = leaderboard.getTop();
+        for (int i = 0; i < Math.min(3, top.size()); i++)
+            topPlaylists.put(i + 1, top.get(i));
+        return topPlaylists;
+    }
+
+    List<GroovyPlaylist> loadTopPlaylists(int limit) throws SQLException {
+        List<GroovyPlaylist> playlists = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement(SELECT + "WHERE public = TRUE ORDER BY count DESC LIMIT ?");
+            ps.setInt(1, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next())
+                playlists.add(resolve(rs));
+        }
+        return playlists;
+    }
+
+    private Map<String, GroovyPlaylist> loadPlaylists(Long authorId) throws SQLException {
+        Map<String, GroovyPlaylist> playlists = new HashMap<>();
         try (Connection connection = dataSource.getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("SELECT * FROM playlists WHERE public = TRUE ORDER BY count DESC LIMIT 3");
+            PreparedStatement ps = connection.prepareStatement(SELECT + "WHERE author_id = ?");
+            ps.setLong(1, authorId);
             ResultSet rs = ps.executeQuery();
-            int rank = 1;
             while (rs.next()) {
-                GroovyPlaylist groovyPlaylist = new GroovyPlaylist(rs);
-                topPlaylists.put(rank, groovyPlaylist);
-                rank++;
+                GroovyPlaylist groovyPlaylist = resolve(rs);
+                playlists.put(groovyPlaylist.getName().toLowerCase(), groovyPlaylist);
             }
-        } catch (SQLException e) {
-            log.error("[GroovyPlaylist] Error while retrieving playlist", e);
         }
-        return topPlaylists;
+        return Collections.unmodifiableMap(playlists);
+    }
+
+    /**
+     * Returns the cached instance of the playlist in the current row, so there is only ever one instance to change
+     */
+    private GroovyPlaylist resolve(ResultSet rs) throws SQLException {
+        return idCache.asMap().computeIfAbsent(rs.getLong("id"), id -> new GroovyPlaylist(rs, playCounter.getPending(id)));
     }
 }
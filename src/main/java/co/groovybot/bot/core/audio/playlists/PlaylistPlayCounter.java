@@ -0,0 +1,128 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.audio.playlists;
+
+import co.groovybot.bot.util.NameThreadFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects playlist plays in memory and adds them to the stored counts in one statement per flush,
+ * so loading a popular playlist does not contend for its row
+ */
+@Log4j2
+public class PlaylistPlayCounter implements Closeable {
+
+    private static final int FLUSH_INTERVAL = 10;
+    private static final int BATCH_SIZE = 500;
+
+    private final HikariDataSource dataSource;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new NameThreadFactory("PlaylistPlayCounter"));
+
+    PlaylistPlayCounter(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        scheduler.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    public void increment(long playlistId) {
+        // Java 8 locks the bin in computeIfAbsent even when the key is present, so it is only used to add new keys
+        LongAdder adder = pending.get(playlistId);
+        if (adder == null)
+            adder = pending.computeIfAbsent(playlistId, id -> new LongAdder());
+        adder.increment();
+    }
+
+    /**
+     * Returns the plays of a playlist that are not written to the database yet
+     */
+    public long getPending(long playlistId) {
+        LongAdder adder = pending.get(playlistId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public void forget(long playlistId) {
+        pending.remove(playlistId);
+    }
+
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        pending.forEach((id, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0)
+                deltas.put(id, delta);
+        });
+        if (deltas.isEmpty())
+            return;
+
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        try (Connection connection = dataSource.getConnection()) {
+            for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+                List<Map.Entry<Long, Long>> batch = entries.subList(from, Math.min(entries.size(), from + BATCH_SIZE));
+                PreparedStatement ps = connection.prepareStatement("UPDATE playlists AS p SET count = p.count + v.delta FROM (VALUES " +
+                        String.join(", ", Collections.nCopies(batch.size(), "(?::bigint, ?::integer)")) +
+                        ") AS v (id, delta) WHERE p.id = v.id");
+                int index = 1;
+                for (Map.Entry<Long, Long> entry : batch) {
+                    ps.setLong(index++, entry.getKey());
+                    ps.setLong(index++, entry.getValue());
+                }
+                ps.execute();
+
+                // Subtracting instead of resetting keeps plays counted while the statement ran, written out counters are dropped
+                for (Map.Entry<Long, Long> entry : batch) {
+                    LongAdder adder = pending.get(entry.getKey());
+                    // The playlist was deleted in the meantime
+                    if (adder == null)
+                        continue;
+                    adder.add(-entry.getValue());
+                    if (adder.sum() == 0 && pending.remove(entry.getKey(), adder)) {
+                        // Plays which were counted on the removed adder right before it was removed are moved to a new one
+                        long late = adder.sumThenReset();
+                        if (late != 0)
+                            pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(late);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error("[PlaylistPlayCounter] Error while writing play counts", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+}
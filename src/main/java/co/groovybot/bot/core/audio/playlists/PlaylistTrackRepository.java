@@ -0,0 +1,163 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.audio.playlists;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.zaxxer.hikari.HikariDataSource;
+import lavalink.client.LavalinkUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the tracks of playlists as one row per track in {@code playlist_tracks}.
+ * Positions are spaced by {@link #GAP}, so appending, removing and moving a track only ever touch a single row.
+ */
+@RequiredArgsConstructor
+public class PlaylistTrackRepository {
+
+    public static final long GAP = 1 << 16;
+
+    private final HikariDataSource dataSource;
+
+    /**
+     * Loads the tracks of all given playlists in one query, ordered by position
+     */
+    public Map<Long, List<StoredTrack>> load(Collection<Long> playlistIds) throws SQLException {
+        Map<Long, List<StoredTrack>> tracks = new HashMap<>();
+        if (playlistIds.isEmpty())
+            return tracks;
+
+        try (Connection connection = dataSource.getConnection()) {
+            Array ids = connection.createArrayOf("bigint", playlistIds.toArray());
+            PreparedStatement ps = connection.prepareStatement("SELECT playlist_id, position, track FROM playlist_tracks WHERE playlist_id = ANY(?) ORDER BY playlist_id, position");
+            ps.setArray(1, ids);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next())
+                tracks.computeIfAbsent(rs.getLong("playlist_id"), id -> new ArrayList<>()).add(new StoredTrack(rs.getLong("position"), rs.getBytes("track")));
+        }
+        return tracks;
+    }
+
+    public List<StoredTrack> load(long playlistId) throws SQLException {
+        return load(Collections.singletonList(playlistId)).getOrDefault(playlistId, Collections.emptyList());
+    }
+
+    /**
+     * Inserts the tracks of a new playlist and returns their positions
+     */
+    public List<Long> insertAll(long playlistId, List<AudioTrack> tracks) throws SQLException, IOException {
+        List<Long> positions = new ArrayList<>(tracks.size());
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO playlist_tracks (playlist_id, position, track) VALUES (?, ?, ?)");
+            long position = 0;
+            for (AudioTrack track : tracks) {
+                position += GAP;
+                ps.setLong(1, playlistId);
+                ps.setLong(2, position);
+                ps.setBytes(3, LavalinkUtil.toBinary(track));
+                ps.addBatch();
+                positions.add(position);
+            }
+            ps.executeBatch();
+        }
+        return positions;
+    }
+
+    /**
+     * Appends a track behind the given last position and returns its position
+     */
+    public long append(long playlistId, long lastPosition, AudioTrack track) throws SQLException, IOException {
+        long position = lastPosition + GAP;
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO playlist_tracks (playlist_id, position, track) VALUES (?, ?, ?)");
+            ps.setLong(1, playlistId);
+            ps.setLong(2, position);
+            ps.setBytes(3, LavalinkUtil.toBinary(track));
+            ps.execute();
+        }
+        return position;
+    }
+
+    public void remove(long playlistId, long position) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM playlist_tracks WHERE playlist_id = ? AND position = ?");
+            ps.setLong(1, playlistId);
+            ps.setLong(2, position);
+            ps.execute();
+        }
+    }
+
+    public void move(long playlistId, long from, long to) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("UPDATE playlist_tracks SET position = ? WHERE playlist_id = ? AND position = ?");
+            ps.setLong(1, to);
+            ps.setLong(2, playlistId);
+            ps.setLong(3, from);
+            ps.execute();
+        }
+    }
+
+    /**
+     * Spreads the given positions out to multiples of {@link #GAP} again, keeping their order.
+     * Only needed when a move finds no free position between two neighbours.
+     */
+    public List<Long> renumber(long playlistId, List<Long> positions) throws SQLException {
+        List<Long> renumbered = new ArrayList<>(positions.size());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // Negating first keeps the primary key free of collisions while moving rows around
+            PreparedStatement negate = connection.prepareStatement("UPDATE playlist_tracks SET position = -position WHERE playlist_id = ? AND position > 0");
+            negate.setLong(1, playlistId);
+            negate.execute();
+
+            PreparedStatement ps = connection.prepareStatement("UPDATE playlist_tracks SET position = ? WHERE playlist_id = ? AND position = ?");
+            for (int i = 0; i < positions.size(); i++) {
+                long position = (i + 1) * GAP;
+                ps.setLong(1, position);
+                ps.setLong(2, playlistId);
+                ps.setLong(3, -positions.get(i));
+                ps.addBatch();
+                renumbered.add(position);
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+        return renumbered;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class StoredTrack {
+        private final long position;
+        private final byte[] data;
+    }
+}
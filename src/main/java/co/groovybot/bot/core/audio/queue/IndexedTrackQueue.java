@@ -0,0 +1,421 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.queue;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link TrackQueue} backed by an implicit treap, so positional access, inserts, removals and range moves run in O(log n)
+ * <p>
+ * All operations are synchronized on the queue, including the bulk operations inherited from {@link Collection}.
+ * Only {@link #iterator()} walks the live tree and must not be used while other threads modify the queue,
+ * {@link #spliterator()} and therefore {@link #stream()} work on a snapshot.
+ */
+public class IndexedTrackQueue extends AbstractQueue<AudioTrack> implements TrackQueue {
+
+    private final Random random = new Random();
+    private Node root;
+    private int modCount;
+
+    @Override
+    public synchronized int size() {
+        return size(root);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public synchronized AudioTrack get(int index) {
+        checkIndex(index, size());
+        return nodeAt(index).track;
+    }
+
+    @Override
+    public synchronized void add(int index, AudioTrack track) {
+        checkIndex(index, size() + 1);
+        Node[] parts = split(root, index);
+        root = merge(merge(parts[0], new Node(track, random.nextInt())), parts[1]);
+        modCount++;
+    }
+
+    @Override
+    public synchronized void addFirst(AudioTrack track) {
+        add(0, track);
+    }
+
+    @Override
+    public synchronized AudioTrack remove(int index) {
+        checkIndex(index, size());
+        Node[] left = split(root, index);
+        Node[] right = split(left[1], 1);
+        root = merge(left[0], right[1]);
+        modCount++;
+        return right[0].track;
+    }
+
+    @Override
+    public synchronized void removeFirst(int count) {
+        if (count < 0)
+            throw new IndexOutOfBoundsException(String.format("Count: %d", count));
+        if (count == 0)
+            return;
+
+        root = split(root, Math.min(count, size()))[1];
+        modCount++;
+    }
+
+    @Override
+    public synchronized void move(int from, int to) {
+        moveRange(from, 1, to);
+    }
+
+    @Override
+    public synchronized void moveRange(int from, int count, int to) {
+        int size = size();
+        if (count < 0 || from < 0 || to < 0 || from + count > size || to + count > size)
+            throw new IndexOutOfBoundsException(String.format("Range %d+%d -> %d, Size: %d", from, count, to, size));
+
+        Node[] head = split(root, from);
+        Node[] range = split(head[1], count);
+        Node[] rest = split(merge(head[0], range[1]), to);
+        root = merge(merge(rest[0], range[0]), rest[1]);
+        modCount++;
+    }
+
+    @Override
+    public synchronized List<AudioTrack> page(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException(String.format("From: %d, To: %d, Size: %d", fromIndex, toIndex, size()));
+
+        List<AudioTrack> page = new ArrayList<>(toIndex - fromIndex);
+        Iterator<AudioTrack> iterator = new Itr(fromIndex);
+        for (int i = fromIndex; i < toIndex; i++)
+            page.add(iterator.next());
+        return page;
+    }
+
+    @Override
+    public synchronized List<AudioTrack> head(int count) {
+        return page(0, Math.min(Math.max(count, 0), size()));
+    }
+
+    @Override
+    public synchronized List<AudioTrack> snapshot() {
+        return page(0, size());
+    }
+
+    @Override
+    public synchronized boolean offer(AudioTrack track) {
+        root = merge(root, new Node(track, random.nextInt()));
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends AudioTrack> tracks) {
+        if (tracks == this)
+            throw new IllegalArgumentException();
+        if (tracks.isEmpty())
+            return false;
+
+        root = merge(root, build(tracks));
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized AudioTrack poll() {
+        return isEmpty() ? null : remove(0);
+    }
+
+    @Override
+    public synchronized AudioTrack peek() {
+        return isEmpty() ? null : nodeAt(0).track;
+    }
+
+    @Override
+    public synchronized void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public synchronized boolean contains(Object o) {
+        return super.contains(o);
+    }
+
+    @Override
+    public synchronized boolean containsAll(Collection<?> c) {
+        return super.containsAll(c);
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        int index = 0;
+        for (AudioTrack track : this) {
+            if (Objects.equals(o, track)) {
+                remove(index);
+                return true;
+            }
+            index++;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all matching tracks in one pass and rebuilds the tree in linear time
+     */
+    @Override
+    public synchronized boolean removeIf(Predicate<? super AudioTrack> filter) {
+        Objects.requireNonNull(filter);
+        List<AudioTrack> kept = new ArrayList<>(size());
+        for (AudioTrack track : this)
+            if (!filter.test(track))
+                kept.add(track);
+        if (kept.size() == size())
+            return false;
+
+        root = kept.isEmpty() ? null : build(kept);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public synchronized boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(track -> !c.contains(track));
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<? super AudioTrack> action) {
+        Objects.requireNonNull(action);
+        for (AudioTrack track : this)
+            action.accept(track);
+    }
+
+    @Override
+    public synchronized Object[] toArray() {
+        return super.toArray();
+    }
+
+    @Override
+    public synchronized <T> T[] toArray(T[] a) {
+        return super.toArray(a);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return super.toString();
+    }
+
+    @Override
+    public Spliterator<AudioTrack> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    @Override
+    public Iterator<AudioTrack> iterator() {
+        return new Itr(0);
+    }
+
+    /**
+     * Builds a treap of the given tracks in linear time by keeping its right spine on a stack
+     */
+    private Node build(Collection<? extends AudioTrack> tracks) {
+        Deque<Node> spine = new ArrayDeque<>();
+        for (AudioTrack track : tracks) {
+            Node node = new Node(track, random.nextInt());
+            Node last = null;
+            while (!spine.isEmpty() && spine.peek().priority < node.priority) {
+                last = spine.pop();
+                last.update();
+            }
+            node.left = last;
+            if (!spine.isEmpty())
+                spine.peek().right = node;
+            spine.push(node);
+        }
+
+        Node top = null;
+        while (!spine.isEmpty()) {
+            top = spine.pop();
+            top.update();
+        }
+        return top;
+    }
+
+    private Node nodeAt(int index) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, bound));
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Splits the given tree into its first {@code count} tracks and the remaining ones
+     */
+    private static Node[] split(Node node, int count) {
+        if (node == null)
+            return new Node[2];
+
+        int leftSize = size(node.left);
+        Node[] parts;
+        if (count <= leftSize) {
+            parts = split(node.left, count);
+            node.left = parts[1];
+            parts[1] = node;
+        } else {
+            parts = split(node.right, count - leftSize - 1);
+            node.right = parts[0];
+            parts[0] = node;
+        }
+        node.update();
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static class Node {
+
+        private final AudioTrack track;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(AudioTrack track, int priority) {
+            this.track = track;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + IndexedTrackQueue.size(left) + IndexedTrackQueue.size(right);
+        }
+    }
+
+    private class Itr implements Iterator<AudioTrack> {
+
+        private final Deque<Node> stack = new ArrayDeque<>();
+        private int nextIndex;
+        private int lastIndex = -1;
+        private int expectedModCount;
+
+        private Itr(int index) {
+            seek(index);
+        }
+
+        private void seek(int index) {
+            stack.clear();
+            nextIndex = index;
+            expectedModCount = modCount;
+
+            Node node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (index <= leftSize) {
+                    stack.push(node);
+                    if (index == leftSize)
+                        break;
+                    node = node.left;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public AudioTrack next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (stack.isEmpty())
+                throw new NoSuchElementException();
+
+            Node node = stack.pop();
+            for (Node child = node.right; child != null; child = child.left)
+                stack.push(child);
+
+            lastIndex = nextIndex++;
+            return node.track;
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            IndexedTrackQueue.this.remove(lastIndex);
+            seek(lastIndex);
+            lastIndex = -1;
+        }
+    }
+}
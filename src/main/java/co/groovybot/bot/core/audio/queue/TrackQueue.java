@@ -0,0 +1,69 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.queue;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * A queue of tracks which additionally supports positional access
+ */
+public interface TrackQueue extends Queue<AudioTrack> {
+
+    AudioTrack get(int index);
+
+    void add(int index, AudioTrack track);
+
+    void addFirst(AudioTrack track);
+
+    AudioTrack remove(int index);
+
+    /**
+     * Removes the first {@code count} tracks, or all of them if the queue holds fewer
+     */
+    void removeFirst(int count);
+
+    /**
+     * Moves the track at position {@code from} so that it ends up at position {@code to}
+     */
+    void move(int from, int to);
+
+    /**
+     * Moves {@code count} tracks starting at position {@code from} so that the range starts at position {@code to} afterwards
+     */
+    void moveRange(int from, int count, int to);
+
+    /**
+     * Returns a copy of the tracks between {@code fromIndex} (inclusive) and {@code toIndex} (exclusive)
+     */
+    List<AudioTrack> page(int fromIndex, int toIndex);
+
+    /**
+     * Returns a copy of the first {@code count} tracks, or of all tracks if the queue holds fewer
+     */
+    List<AudioTrack> head(int count);
+
+    /**
+     * Returns a consistent copy of all tracks, even while other threads modify the queue
+     */
+    List<AudioTrack> snapshot();
+}
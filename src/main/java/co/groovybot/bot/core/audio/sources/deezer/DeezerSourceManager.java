@@ -53,9 +53,9 @@ public class DeezerSourceManager implements AudioSourceManager {
     @Getter
     private final AudioTrackFactory audioTrackFactory;
 
-    public DeezerSourceManager() {
+    public DeezerSourceManager(AudioTrackFactory audioTrackFactory) {
         this.deezerClient = new DeezerClient(new HttpResourceConnection());
-        this.audioTrackFactory = new AudioTrackFactory();
+        this.audioTrackFactory = audioTrackFactory;
     }
 
     @Override
@@ -97,7 +97,7 @@ public class DeezerSourceManager implements AudioSourceManager {
         Playlist playlist = this.deezerClient.get(playlistId);
         List<Track> playlistTracks = playlist.getTracks().getData();
         List<TrackData> trackDatas = this.getPlaylistTrackData(playlistTracks);
-        List<AudioTrack> audioTracks = this.audioTrackFactory.getAudioTracks(trackDatas);
+        List<AudioTrack> audioTracks = this.audioTrackFactory.getDeferredAudioTracks(trackDatas);
         return new BasicAudioPlaylist(playlist.getTitle(), audioTracks, null, false);
     }
 
@@ -112,7 +112,9 @@ public class DeezerSourceManager implements AudioSourceManager {
                 track.getTitle(),
                 track.getLink(),
                 Collections.singletonList(track.getArtist().getName()),
-                track.getDuration()
+                track.getDuration(),
+                "deezer",
+                String.valueOf(track.getId())
         );
     }
 
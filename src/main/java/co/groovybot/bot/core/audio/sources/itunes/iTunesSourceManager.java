@@ -29,10 +29,10 @@ public class iTunesSourceManager implements AudioSourceManager {
     private static final Pattern ALBUM_PATTERN = Pattern.compile("https?://itunes\\.apple\\.com/.*/album/.*/([0-9]*)");
 
     @Getter
-    private AudioTrackFactory audioTrackFactory;
+    private final AudioTrackFactory audioTrackFactory;
 
-    public iTunesSourceManager() {
-        this.audioTrackFactory = new AudioTrackFactory();
+    public iTunesSourceManager(AudioTrackFactory audioTrackFactory) {
+        this.audioTrackFactory = audioTrackFactory;
     }
 
     @Override
@@ -73,7 +73,7 @@ public class iTunesSourceManager implements AudioSourceManager {
         if (results.size() == 0)
             return null;
         List<TrackData> trackDataList = getPlaylistTrackData(results);
-        List<AudioTrack> audioTracks = this.audioTrackFactory.getAudioTracks(trackDataList);
+        List<AudioTrack> audioTracks = this.audioTrackFactory.getDeferredAudioTracks(trackDataList);
         return new BasicAudioPlaylist(results.get(0).getCollectionName(), audioTracks, null, false);
     }
 
@@ -88,7 +88,9 @@ public class iTunesSourceManager implements AudioSourceManager {
                 result.getTrackName(),
                 result.getFeedUrl(),
                 Collections.singletonList(result.getArtistName()),
-                result.getTrackTimeMillis()
+                result.getTrackTimeMillis(),
+                "itunes",
+                String.valueOf(result.getTrackId())
         );
     }
 
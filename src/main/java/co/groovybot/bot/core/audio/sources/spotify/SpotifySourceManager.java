@@ -108,9 +108,9 @@ public class SpotifySourceManager implements AudioSourceManager {
     private int playlistRequestExecutionCount = 0;
     private int filteredLocalTracks = 0;
 
-    public SpotifySourceManager(@NonNull SpotifyManager spotifyManager) {
+    public SpotifySourceManager(@NonNull SpotifyManager spotifyManager, @NonNull AudioTrackFactory audioTrackFactory) {
         this.spotifyManager = spotifyManager;
-        this.audioTrackFactory = new AudioTrackFactory();
+        this.audioTrackFactory = audioTrackFactory;
         this.trackLoadingCache = CacheBuilder.newBuilder()
                 .maximumSize(100)
                 .expireAfterWrite(12, TimeUnit.HOURS)
@@ -254,7 +254,7 @@ public class SpotifySourceManager implements AudioSourceManager {
         }
 
         List<TrackData> trackDataList = this.getPlaylistTrackDataList(getPlaylistTracks(playlist));
-        List<AudioTrack> audioTracks = this.audioTrackFactory.getAudioTracks(trackDataList);
+        List<AudioTrack> audioTracks = this.audioTrackFactory.getDeferredAudioTracks(trackDataList);
         return new BasicAudioPlaylist(playlist.getName(), audioTracks, null, false);
     }
 
@@ -272,7 +272,7 @@ public class SpotifySourceManager implements AudioSourceManager {
             return null;
         }
         List<TrackData> trackDataList = getPlaylistTrackDataList(getPlaylistTracks(playlist));
-        List<AudioTrack> audioTracks = this.audioTrackFactory.getAudioTracks(trackDataList);
+        List<AudioTrack> audioTracks = this.audioTrackFactory.getDeferredAudioTracks(trackDataList);
         return new BasicAudioPlaylist(playlist.getName(), audioTracks, null, false);
     }
 
@@ -287,7 +287,7 @@ public class SpotifySourceManager implements AudioSourceManager {
             return null;
         }
         List<TrackData> trackDataList = getTrackDataListSimplified(getAlbumTracks(Objects.requireNonNull(album)));
-        List<AudioTrack> audioTracks = this.audioTrackFactory.getAudioTracks(trackDataList);
+        List<AudioTrack> audioTracks = this.audioTrackFactory.getDeferredAudioTracks(trackDataList);
         return new BasicAudioPlaylist(album.getName(), audioTracks, null, false);
     }
 
@@ -307,7 +307,7 @@ public class SpotifySourceManager implements AudioSourceManager {
             return null;
         }
         List<TrackData> trackDataList = getTrackDataList(getTopTenSongs(artist));
-        List<AudioTrack> audioTracks = this.audioTrackFactory.getAudioTracks(trackDataList);
+        List<AudioTrack> audioTracks = this.audioTrackFactory.getDeferredAudioTracks(trackDataList);
         return new BasicAudioPlaylist("Top 10 Songs by " + artist.getName(), audioTracks, null, false);
     }
 
@@ -422,7 +422,9 @@ public class SpotifySourceManager implements AudioSourceManager {
                 Arrays.stream(trackSimplified.getArtists())
                         .map(ArtistSimplified::getName)
                         .collect(Collectors.toList()),
-                trackSimplified.getDurationMs()
+                trackSimplified.getDurationMs(),
+                "spotify",
+                trackSimplified.getId()
         );
     }
 
@@ -433,7 +435,9 @@ public class SpotifySourceManager implements AudioSourceManager {
                 Arrays.stream(track.getArtists())
                         .map(ArtistSimplified::getName)
                         .collect(Collectors.toList()),
-                track.getDurationMs()
+                track.getDurationMs(),
+                "spotify",
+                track.getId()
         );
     }
 
@@ -19,36 +19,84 @@
 
 package co.groovybot.bot.core.cache;
 
+import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.core.entity.DatabaseEntitiy;
+import co.groovybot.bot.util.NameThreadFactory;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import net.dv8tion.jda.core.entities.ISnowflake;
 
-import java.util.HashMap;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Thread safe cache of database entities, bounded by size and idle time.
+ * Concurrent requests for the same missing entity only load it once.
+ * Changed entities are written back in batches by a background flusher.
+ */
 @Log4j2
-public class Cache<T extends DatabaseEntitiy> {
+public class Cache<T extends DatabaseEntitiy> implements Closeable {
+
+    private static final ExecutorService loader = Executors.newFixedThreadPool(4, new NameThreadFactory("EntityLoader"));
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(new NameThreadFactory("EntityFlusher"));
+    private static final long FLUSH_INTERVAL = 2;
 
-    private final Map<Long, T> cacheMap;
-    private final Class<T> clazz;
+    private final LoadingCache<Long, T> cache;
+    @Getter
+    private final long maximumSize;
+    private final Map<Long, T> dirty = new ConcurrentHashMap<>();
+    // Entities taken out of dirty by the running flush, kept until their batch was written
+    private final Map<Long, T> flushing = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> flushTask;
+    @Getter
+    private final AtomicLong writes = new AtomicLong();
+    @Getter
+    private final AtomicLong coalescedWrites = new AtomicLong();
 
-    public Cache(Class<T> clazz) {
-        this.cacheMap = new HashMap<>();
-        this.clazz = clazz;
+    public Cache(Class<T> clazz, long maximumSize, long expireAfterAccessMinutes) {
+        this.maximumSize = maximumSize;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build(new CacheLoader<Long, T>() {
+                    @Override
+                    public T load(Long entityId) throws Exception {
+                        // An evicted entity might still wait for its changes to be written
+                        T pending = getPending(entityId);
+                        if (pending != null)
+                            return pending;
+                        return clazz.getDeclaredConstructor(Long.class).newInstance(entityId);
+                    }
+                });
+        this.flushTask = flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.SECONDS);
     }
 
     public T get(Long entityId) {
-        if (cacheMap.containsKey(entityId))
-            return cacheMap.get(entityId);
-        else {
-            try {
-                T out = clazz.getDeclaredConstructor(Long.class).newInstance(entityId);
-                cacheMap.put(entityId, out);
-                return out;
-            } catch (Exception e) {
-                log.error("[Cache] An error occurred while updating entity in cache", e);
-                return null;
-            }
+        try {
+            return cache.get(entityId);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.error("[Cache] An error occurred while loading entity into cache", e.getCause());
+            return null;
         }
     }
 
@@ -56,12 +104,100 @@ public class Cache<T extends DatabaseEntitiy> {
         return get(snowflake.getIdLong());
     }
 
+    /**
+     * Returns the entity right away if it is cached, otherwise loads it without blocking the calling thread
+     */
+    public CompletableFuture<T> getAsync(Long entityId) {
+        T cached = cache.getIfPresent(entityId);
+        if (cached != null)
+            return CompletableFuture.completedFuture(cached);
+        return CompletableFuture.supplyAsync(() -> get(entityId), loader);
+    }
+
+    /**
+     * Marks the entity as changed, it is written to the database with the next flush
+     */
     public void update(T instance) {
-        cacheMap.replace(instance.entityId, instance);
-        try {
-            instance.updateInDatabase();
-        } catch (Exception e) {
-            log.error("[Cache] An error occurred while updating entity in cache", e);
+        cache.asMap().replace(instance.entityId, instance);
+        if (dirty.put(instance.entityId, instance) != null)
+            coalescedWrites.incrementAndGet();
+    }
+
+    private T getPending(Long entityId) {
+        T pending = dirty.get(entityId);
+        return pending == null ? flushing.get(entityId) : pending;
+    }
+
+    public synchronized void flush() {
+        if (dirty.isEmpty())
+            return;
+
+        List<T> entities = new ArrayList<>(dirty.values());
+        try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
+            PreparedStatement ps = connection.prepareStatement(entities.get(0).getUpdateStatement());
+            for (T entity : entities) {
+                // Taking it out of dirty before binding makes sure changes made while binding mark the entity again,
+                // it stays pending in flushing so it is not reloaded from its old row in the meantime
+                flushing.put(entity.entityId, entity);
+                dirty.remove(entity.entityId, entity);
+                try {
+                    entity.bindUpdate(ps);
+                    ps.addBatch();
+                } catch (RuntimeException e) {
+                    log.debug("[Cache] Could not write entity {}, retrying with the next flush", entity.entityId, e);
+                    dirty.putIfAbsent(entity.entityId, entity);
+                }
+            }
+            writes.addAndGet(ps.executeBatch().length);
+        } catch (SQLException | RuntimeException e) {
+            log.error("[Cache] An error occurred while updating entities in database", e);
+            entities.forEach(entity -> dirty.putIfAbsent(entity.entityId, entity));
+        } finally {
+            // Only forgotten once the batch was written, or it was marked again for the next flush
+            entities.forEach(entity -> flushing.remove(entity.entityId, entity));
         }
     }
+
+    /**
+     * Stops the background flusher and writes all remaining changes
+     */
+    @Override
+    public void close() {
+        flushTask.cancel(false);
+        flush();
+    }
+
+    /**
+     * Returns the entity only if it is cached, never loading it
+     */
+    public T getIfPresent(Long entityId) {
+        return cache.getIfPresent(entityId);
+    }
+
+    public boolean contains(Long entityId) {
+        return cache.getIfPresent(entityId) != null;
+    }
+
+    /**
+     * Adds an entity which was loaded elsewhere, keeping an instance that is already cached.
+     * An evicted entity which still waits for its changes to be written is preferred over the given one, as its row is stale
+     */
+    public T putIfAbsent(T instance) {
+        T pending = getPending(instance.entityId);
+        T candidate = pending == null ? instance : pending;
+        T cached = cache.asMap().putIfAbsent(instance.entityId, candidate);
+        return cached == null ? candidate : cached;
+    }
+
+    public void invalidate(Long entityId) {
+        cache.invalidate(entityId);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.cache;
+
+import co.groovybot.bot.core.entity.entities.GroovyGuild;
+import co.groovybot.bot.util.NameThreadFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import net.dv8tion.jda.bot.sharding.ShardManager;
+import net.dv8tion.jda.core.entities.ISnowflake;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the settings of all guilds of the local shards in a few bulk queries, so the first command
+ * of every guild after a restart does not have to query its settings on its own
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class GuildPreloader {
+
+    private static final int CHUNK_SIZE = 1000;
+    // Guava splits the maximum size across its segments, so a completely filled cache would already evict
+    private static final double MAXIMUM_FILL = 0.9;
+
+    private final HikariDataSource dataSource;
+    private final Cache<GroovyGuild> guildCache;
+
+    public CompletableFuture<Void> preloadAsync(ShardManager shardManager) {
+        ExecutorService executor = Executors.newSingleThreadExecutor(new NameThreadFactory("GuildPreloader"));
+        return CompletableFuture.runAsync(() -> preload(shardManager), executor)
+                .whenComplete((ignored, throwable) -> executor.shutdown());
+    }
+
+    public void preload(ShardManager shardManager) {
+        long start = System.currentTimeMillis();
+        List<Long> guildIds = shardManager.getGuildCache().stream()
+                .map(ISnowflake::getIdLong)
+                .filter(id -> !guildCache.contains(id))
+                .collect(Collectors.toList());
+
+        // Preloading more than fits would only evict guilds which were loaded a moment ago or are already in use
+        int capacity = (int) Math.max(0, (long) (guildCache.getMaximumSize() * MAXIMUM_FILL) - guildCache.size());
+        if (guildIds.size() > capacity) {
+            log.info("[GuildPreloader] Only preloading {} of {} guilds, the cache cannot hold more", capacity, guildIds.size());
+            guildIds = guildIds.subList(0, capacity);
+        }
+
+        int loaded = 0;
+        int created = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("SELECT * FROM guilds WHERE id = ANY(?)");
+            for (int from = 0; from < guildIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = guildIds.subList(from, Math.min(guildIds.size(), from + CHUNK_SIZE));
+                ps.setArray(1, connection.createArrayOf("bigint", chunk.toArray()));
+
+                Set<Long> missing = new HashSet<>(chunk);
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    long id = rs.getLong("id");
+                    missing.remove(id);
+                    guildCache.putIfAbsent(new GroovyGuild(id, rs));
+                    loaded++;
+                }
+
+                // Guilds without a row are inserted in batches by the cache's write-behind flush
+                for (Long id : missing) {
+                    GroovyGuild guild = new GroovyGuild(id, null);
+                    if (guildCache.putIfAbsent(guild) == guild) {
+                        guildCache.update(guild);
+                        created++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error("[GuildPreloader] Error while preloading guilds!", e);
+            return;
+        }
+
+        log.info("[GuildPreloader] Preloaded {} guilds and created {} in {}ms", loaded, created, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.cache;
+
+import co.groovybot.bot.core.audio.data.TrackData;
+import co.groovybot.bot.util.NameThreadFactory;
+import com.google.common.cache.CacheBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers which YouTube video a Spotify, Deezer or iTunes track was resolved to, in memory and in the database.
+ * Hits are counted in memory and added to the stored counts in batches, so lookups only read from the database
+ */
+@Log4j2
+public class TrackResolutionCache implements Closeable {
+
+    private static final long POSITIVE_TTL = TimeUnit.DAYS.toMillis(30);
+    private static final long NEGATIVE_TTL = TimeUnit.DAYS.toMillis(1);
+    private static final int WARMUP_SIZE = 5000;
+    private static final int FLUSH_INTERVAL = 30;
+    private static final int BATCH_SIZE = 500;
+
+    private final HikariDataSource dataSource;
+    private final Map<String, Resolution> memory;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pendingHits = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new NameThreadFactory("TrackResolutionHits"));
+
+    @Getter
+    private final AtomicLong memoryHits = new AtomicLong();
+    @Getter
+    private final AtomicLong databaseHits = new AtomicLong();
+    @Getter
+    private final AtomicLong misses = new AtomicLong();
+
+    public TrackResolutionCache(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.memory = CacheBuilder.newBuilder()
+                .maximumSize(20000)
+                .expireAfterAccess(12, TimeUnit.HOURS)
+                .<String, Resolution>build()
+                .asMap();
+        scheduler.scheduleWithFixedDelay(this::flushHits, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the cached video id of the given track or resolves and caches it
+     *
+     * @param trackData the converted track
+     * @param resolver  looks up the video id on a cache miss
+     * @return the video id or an empty string if there is no matching video
+     * @throws IOException when the resolver fails
+     */
+    public String getVideoId(TrackData trackData, Resolver resolver) throws IOException {
+        if (trackData.getSource() == null || trackData.getExternalId() == null)
+            return resolver.resolve();
+
+        String key = trackData.getSource() + ":" + trackData.getExternalId();
+        Resolution resolution = memory.get(key);
+        if (resolution != null && !resolution.isExpired()) {
+            memoryHits.incrementAndGet();
+            countHit(key);
+            return resolution.getVideoId();
+        }
+
+        // Concurrent lookups of the same track wait for the first one instead of each searching YouTube
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, lookup);
+        if (running != null)
+            return await(running);
+
+        try {
+            String videoId = loadOrResolve(key, trackData, resolver);
+            lookup.complete(videoId);
+            return videoId;
+        } catch (IOException | RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, lookup);
+        }
+    }
+
+    private String loadOrResolve(String key, TrackData trackData, Resolver resolver) throws IOException {
+        // A lookup which finished just before this one started already filled the memory cache
+        Resolution resolution = memory.get(key);
+        if (resolution != null && !resolution.isExpired()) {
+            memoryHits.incrementAndGet();
+            countHit(key);
+            return resolution.getVideoId();
+        }
+
+        resolution = load(trackData.getSource(), trackData.getExternalId());
+        if (resolution != null && !resolution.isExpired()) {
+            databaseHits.incrementAndGet();
+            countHit(key);
+            memory.put(key, resolution);
+            return resolution.getVideoId();
+        }
+
+        misses.incrementAndGet();
+        String videoId = resolver.resolve();
+        resolution = new Resolution(videoId == null ? "" : videoId, System.currentTimeMillis());
+        memory.put(key, resolution);
+        store(trackData.getSource(), trackData.getExternalId(), resolution);
+        return resolution.getVideoId();
+    }
+
+    private String await(CompletableFuture<String> lookup) throws IOException {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the most requested resolutions into memory
+     */
+    public void warmUp() {
+        int loaded = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("SELECT source, external_id, video_id, resolved_at FROM track_resolutions ORDER BY hits DESC LIMIT ?");
+            ps.setInt(1, WARMUP_SIZE);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                Resolution resolution = readResolution(rs);
+                if (resolution.isExpired())
+                    continue;
+                memory.put(rs.getString("source") + ":" + rs.getString("external_id"), resolution);
+                loaded++;
+            }
+        } catch (SQLException e) {
+            log.error("[TrackResolutionCache] Error while warming up cache", e);
+        }
+        log.info("[TrackResolutionCache] Loaded {} track resolutions", loaded);
+    }
+
+    private Resolution load(String source, String externalId) {
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("SELECT video_id, resolved_at FROM track_resolutions WHERE source = ? AND external_id = ?");
+            ps.setString(1, source);
+            ps.setString(2, externalId);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next())
+                return readResolution(rs);
+        } catch (SQLException e) {
+            log.error("[TrackResolutionCache] Error while loading track resolution", e);
+        }
+        return null;
+    }
+
+    private void store(String source, String externalId, Resolution resolution) {
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO track_resolutions (source, external_id, video_id, resolved_at) VALUES (?, ?, ?, ?) ON CONFLICT (source, external_id) DO UPDATE SET video_id = excluded.video_id, resolved_at = excluded.resolved_at");
+            ps.setString(1, source);
+            ps.setString(2, externalId);
+            if (resolution.getVideoId().isEmpty())
+                ps.setNull(3, Types.VARCHAR);
+            else
+                ps.setString(3, resolution.getVideoId());
+            ps.setLong(4, resolution.getResolvedAt());
+            ps.execute();
+        } catch (SQLException e) {
+            log.error("[TrackResolutionCache] Error while saving track resolution", e);
+        }
+    }
+
+    private void countHit(String key) {
+        // Java 8 locks the bin in computeIfAbsent even when the key is present, so it is only used to add new keys
+        LongAdder hits = pendingHits.get(key);
+        if (hits == null)
+            hits = pendingHits.computeIfAbsent(key, ignored -> new LongAdder());
+        hits.increment();
+    }
+
+    /**
+     * Adds the hits counted since the last flush to the stored counts, which decide what is loaded by {@link #warmUp()}
+     */
+    public synchronized void flushHits() {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        pendingHits.forEach((key, hits) -> {
+            long delta = hits.sum();
+            if (delta != 0)
+                deltas.put(key, delta);
+        });
+        if (deltas.isEmpty())
+            return;
+
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(deltas.entrySet());
+        try (Connection connection = dataSource.getConnection()) {
+            for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+                List<Map.Entry<String, Long>> batch = entries.subList(from, Math.min(entries.size(), from + BATCH_SIZE));
+                PreparedStatement ps = connection.prepareStatement("UPDATE track_resolutions AS t SET hits = t.hits + v.delta FROM (VALUES " +
+                        String.join(", ", Collections.nCopies(batch.size(), "(?, ?, ?::integer)")) +
+                        ") AS v (source, external_id, delta) WHERE t.source = v.source AND t.external_id = v.external_id");
+                int index = 1;
+                for (Map.Entry<String, Long> entry : batch) {
+                    int separator = entry.getKey().indexOf(':');
+                    ps.setString(index++, entry.getKey().substring(0, separator));
+                    ps.setString(index++, entry.getKey().substring(separator + 1));
+                    ps.setLong(index++, entry.getValue());
+                }
+                ps.execute();
+
+                // Subtracting instead of resetting keeps hits counted while the statement ran
+                for (Map.Entry<String, Long> entry : batch) {
+                    LongAdder hits = pendingHits.get(entry.getKey());
+                    hits.add(-entry.getValue());
+                    if (hits.sum() == 0 && pendingHits.remove(entry.getKey(), hits)) {
+                        // Hits which were counted on the removed adder right before it was removed are moved to a new one
+                        long late = hits.sumThenReset();
+                        if (late != 0)
+                            pendingHits.computeIfAbsent(entry.getKey(), ignored -> new LongAdder()).add(late);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error("[TrackResolutionCache] Error while writing hits", e);
+        }
+    }
+
+    /**
+     * Stops the background flusher and writes the remaining hits
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flushHits();
+    }
+
+    private Resolution readResolution(ResultSet rs) throws SQLException {
+        String videoId = rs.getString("video_id");
+        return new Resolution(videoId == null ? "" : videoId, rs.getLong("resolved_at"));
+    }
+
+    public interface Resolver {
+        String resolve() throws IOException;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Resolution {
+
+        private final String videoId;
+        private final long resolvedAt;
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - resolvedAt > (videoId.isEmpty() ? NEGATIVE_TTL : POSITIVE_TTL);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.command;
+
+import java.util.Arrays;
+
+/**
+ * Matches command aliases directly in the raw message content, ignoring case and without allocating anything
+ *
+ * @param <V> the type of the values associated with the aliases
+ */
+public class AliasTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    public void put(String alias, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < alias.length(); i++)
+            node = node.childOrCreate(Character.toLowerCase(alias.charAt(i)));
+        node.alias = alias.toLowerCase();
+        node.length = alias.length();
+        node.value = value;
+    }
+
+    /**
+     * Finds the longest alias which starts at {@code offset} and is followed by whitespace or the end of the text
+     *
+     * @return the node of the alias or {@code null} if none matches
+     */
+    public Node<V> match(CharSequence text, int offset) {
+        Node<V> node = root;
+        Node<V> match = null;
+        for (int i = offset; node != null; i++) {
+            boolean end = i == text.length();
+            if (node.value != null && (end || isWhitespace(text.charAt(i))))
+                match = node;
+            if (end)
+                break;
+            node = node.child(Character.toLowerCase(text.charAt(i)));
+        }
+        return match;
+    }
+
+    /**
+     * Same as the {@code \s} character class, which was used to split messages before
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    public static final class Node<V> {
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<V>[] children = new Node[0];
+        private String alias;
+        private int length;
+        private V value;
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the number of characters the alias occupies in the matched text
+         */
+        public int length() {
+            return length;
+        }
+
+        private Node<V> child(char key) {
+            for (int i = 0; i < keys.length; i++)
+                if (keys[i] == key)
+                    return children[i];
+            return null;
+        }
+
+        private Node<V> childOrCreate(char key) {
+            Node<V> child = child(key);
+            if (child == null) {
+                child = new Node<>();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
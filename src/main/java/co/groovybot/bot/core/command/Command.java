@@ -42,6 +42,7 @@ public abstract class Command extends EmbedUtil {
     private final String description;
     private final String usage;
     private final Map<String, SubCommand> subCommandAssociations = new HashMap<>();
+    private final AliasTrie<SubCommand> subCommandTrie = new AliasTrie<>();
     private final CommandLineParser cliParser = new DefaultParser();
 
     public Command(String[] aliases, CommandCategory commandCategory, Permissions permissions, String description) {
@@ -64,7 +65,10 @@ public abstract class Command extends EmbedUtil {
      */
     public void registerSubCommand(SubCommand subCommand) {
         subCommand.setMainCommand(this);
-        Arrays.asList(subCommand.getAliases()).forEach(alias -> subCommandAssociations.put(alias, subCommand));
+        Arrays.asList(subCommand.getAliases()).forEach(alias -> {
+            subCommandAssociations.put(alias, subCommand);
+            subCommandTrie.put(alias, subCommand);
+        });
     }
 
     /**
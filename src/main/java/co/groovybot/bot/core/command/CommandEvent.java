@@ -24,26 +24,38 @@ import co.groovybot.bot.core.command.permission.UserPermissions;
 import co.groovybot.bot.core.entity.EntityProvider;
 import co.groovybot.bot.core.entity.entities.GroovyGuild;
 import co.groovybot.bot.core.entity.entities.GroovyUser;
+import co.groovybot.bot.core.translation.TranslationLocale;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.dv8tion.jda.core.events.message.guild.GuildMessageReceivedEvent;
 import org.apache.commons.cli.*;
 
+import java.util.Locale;
+
+/**
+ * The context of a command. Everything which needs a lookup is resolved on first use and then kept,
+ * so commands only pay for what they actually use.
+ */
 @Getter
 public class CommandEvent extends GuildMessageReceivedEvent {
 
     private final GroovyBot bot;
     private final String[] args;
     private final String invocation;
-    private final UserPermissions permissions;
-    private final CommandLineParser cliParser;
+    @Getter(AccessLevel.NONE)
+    private GroovyUser groovyUser;
+    @Getter(AccessLevel.NONE)
+    private UserPermissions permissions;
+    @Getter(AccessLevel.NONE)
+    private CommandLineParser cliParser;
+    @Getter(AccessLevel.NONE)
+    private TranslationLocale locale;
 
     public CommandEvent(GuildMessageReceivedEvent event, GroovyBot bot, String[] args, String invocation) {
         super(event.getJDA(), event.getResponseNumber(), event.getMessage());
         this.bot = bot;
         this.args = args;
         this.invocation = invocation;
-        this.permissions = EntityProvider.getUser(getAuthor().getIdLong()).getPermissions();
-        this.cliParser = new DefaultParser();
     }
 
     /**
@@ -53,7 +65,28 @@ public class CommandEvent extends GuildMessageReceivedEvent {
      * @return the translation as a String
      */
     public String translate(String key) {
-        return bot.getTranslationManager().getLocaleByUser(getAuthor().getId()).translate(key);
+        return getTranslationLocale().translate(key);
+    }
+
+    /**
+     * Returns the translation of a key with its placeholders filled in
+     *
+     * @param key  the key of the translation
+     * @param args the values for the placeholders
+     * @return the formatted translation as a String
+     */
+    public String translate(String key, Object... args) {
+        return getTranslationLocale().translate(key, args);
+    }
+
+    /**
+     * @return the locale of the author, looked up again only if the author changed their language
+     */
+    public TranslationLocale getTranslationLocale() {
+        Locale userLocale = getGroovyUser().getLocale();
+        if (locale == null || !locale.getLocale().equals(userLocale))
+            locale = bot.getTranslationManager().getLocaleByLocale(userLocale);
+        return locale;
     }
 
     public String getArguments() {
@@ -64,7 +97,18 @@ public class CommandEvent extends GuildMessageReceivedEvent {
      * @return the Groovy user instance
      */
     public GroovyUser getGroovyUser() {
-        return EntityProvider.getUser(getAuthor().getIdLong());
+        if (groovyUser == null)
+            groovyUser = EntityProvider.getUser(getAuthor().getIdLong());
+        return groovyUser;
+    }
+
+    /**
+     * @return the permissions of the author
+     */
+    public UserPermissions getPermissions() {
+        if (permissions == null)
+            permissions = getGroovyUser().getPermissions();
+        return permissions;
     }
 
     /**
@@ -81,6 +125,12 @@ public class CommandEvent extends GuildMessageReceivedEvent {
         return args.length == 0;
     }
 
+    public CommandLineParser getCliParser() {
+        if (cliParser == null)
+            cliParser = new DefaultParser();
+        return cliParser;
+    }
+
     /**
      * Let's you parse the arguments as CLI options
      *
@@ -20,41 +20,57 @@
 package co.groovybot.bot.core.command;
 
 import co.groovybot.bot.GroovyBot;
+import co.groovybot.bot.core.command.permission.Permissions;
 import co.groovybot.bot.core.entity.entities.GroovyGuild;
 import co.groovybot.bot.core.events.command.CommandExecutedEvent;
 import co.groovybot.bot.core.events.command.CommandFailEvent;
 import co.groovybot.bot.core.events.command.NoPermissionEvent;
 import co.groovybot.bot.util.EmbedUtil;
-import co.groovybot.bot.util.NameThreadFactory;
 import co.groovybot.bot.util.SafeMessage;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.TextChannel;
 import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.events.message.guild.GuildMessageReceivedEvent;
 import net.dv8tion.jda.core.hooks.SubscribeEvent;
+import org.json.JSONObject;
 
 import java.io.Closeable;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Log4j2
 public class CommandManager implements Closeable {
 
     @Getter
     private final Map<String, Command> commandAssociations;
+    private final AliasTrie<Command> aliases = new AliasTrie<>();
+    @Getter
+    private final LongAdder filteredMessages = new LongAdder();
+    @Getter
+    private final LongAdder dispatchedMessages = new LongAdder();
+    private volatile String selfId;
     private final String defaultPrefix;
     private final GroovyBot bot;
-    private final ExecutorService executor;
+    @Getter
+    private final GuildCommandExecutor executor;
+    // Guilds which were recently told that commands are dropped, so a flood does not cause a flood of replies
+    private final Cache<Long, Boolean> busyNotified = CacheBuilder.newBuilder()
+            .expireAfterWrite(10, TimeUnit.SECONDS)
+            .build();
 
     public CommandManager(String defaultPrefix, GroovyBot bot) {
         commandAssociations = new HashMap<>();
         this.defaultPrefix = defaultPrefix;
         this.bot = bot;
-        this.executor = Executors.newCachedThreadPool(new NameThreadFactory("CommandExecutor"));
+        JSONObject settings = bot.getConfig().getJSONObject("settings");
+        this.executor = new GuildCommandExecutor(settings.optInt("command_threads", 32), settings.optInt("command_queue_per_guild", 5), settings.optInt("command_queue_total", 2000));
     }
 
     @SubscribeEvent
@@ -70,43 +86,65 @@ public class CommandManager implements Closeable {
         // Check if invoker is real
         User author = event.getAuthor();
         if (author.isBot() || author.isFake() || event.isWebhookMessage()) return;
-        executor.execute(() -> parseCommands(event));
+
+        // Only messages which can be commands are handed to the executor, together with the match found here
+        CommandMatch match = match(event, false);
+        if (match == null) {
+            filteredMessages.increment();
+            return;
+        }
+        dispatchedMessages.increment();
+
+        if (!executor.submit(event.getGuild().getIdLong(), () -> parseCommands(event, match)))
+            notifyBusy(event.getChannel());
     }
 
-    private void parseCommands(GuildMessageReceivedEvent event) {
-        String prefix = null;
+    /**
+     * Finds the prefix and the alias a message starts with. On the event thread the guild is never loaded,
+     * messages of guilds whose settings are not cached yet are matched again once their prefix is known.
+     *
+     * @param load whether the guild may be loaded to check its custom prefix
+     * @return the match, {@link CommandMatch#UNKNOWN_PREFIX} if the guild is not cached or {@code null} if the message is no command
+     */
+    private CommandMatch match(GuildMessageReceivedEvent event, boolean load) {
         String content = event.getMessage().getContentRaw();
-        String lowerCasedContent = content.toLowerCase();
-        GroovyGuild groovyGuild = bot.getGuildCache().get(event.getGuild().getIdLong());
-
-        // Check prefix
-        if (lowerCasedContent.startsWith(defaultPrefix))
-            prefix = defaultPrefix;
-        else {
-            String mention = event.getGuild().getSelfMember().getAsMention();
-            if (lowerCasedContent.startsWith(mention))
-                prefix = mention;
-            else {
-                if (bot.getGuildCache() == null)
-                    return;
-                String customPrefix = groovyGuild.getPrefix();
-                if (lowerCasedContent.startsWith(customPrefix))
-                    prefix = customPrefix;
-            }
+        int offset = prefixEnd(content, event.getJDA());
+        if (offset == -1) {
+            long guildId = event.getGuild().getIdLong();
+            GroovyGuild groovyGuild = load ? bot.getGuildCache().get(guildId) : bot.getGuildCache().getIfPresent(guildId);
+            if (groovyGuild == null)
+                return load ? null : CommandMatch.UNKNOWN_PREFIX;
+            offset = CommandParser.prefixLength(content, groovyGuild.getPrefix());
+            if (offset == -1)
+                return null;
         }
 
-        // Abort if message don't start with the right prefix
-        if (prefix == null) return;
+        offset = CommandParser.skipWhitespace(content, offset);
+        AliasTrie.Node<Command> node = aliases.match(content, offset);
+        return node == null ? null : new CommandMatch(offset, node);
+    }
+
+    private void notifyBusy(TextChannel channel) {
+        if (busyNotified.asMap().putIfAbsent(channel.getGuild().getIdLong(), true) == null)
+            EmbedUtil.sendMessage(channel, EmbedUtil.error("Too busy!", "I am **handling** too many **commands** of this server right now, please try again in a **few seconds**!"), 5);
+    }
 
-        //Remove prefix
-        String beheaded = content.substring(prefix.length()).trim();
+    private void parseCommands(GuildMessageReceivedEvent event, CommandMatch match) {
+        String content = event.getMessage().getContentRaw();
+
+        // The custom prefix could not be checked on the event thread
+        if (match == CommandMatch.UNKNOWN_PREFIX) {
+            match = match(event, true);
+            if (match == null) return;
+        }
 
-        //Split arguments
-        String[] allArgs = beheaded.split("\\s+");
-        String invocation = allArgs[0].toLowerCase();
+        String invocation = match.node.getAlias();
+        Command command = match.node.getValue();
+        int offset = match.offset + match.node.length();
 
-        //Search for commands
-        if (!commandAssociations.containsKey(invocation)) return;
+        GroovyGuild groovyGuild = bot.getGuildCache().get(event.getGuild().getIdLong());
+        if (groovyGuild == null)
+            return;
 
         // Check if channel is not commandschannel
         if (groovyGuild.hasCommandsChannel())
@@ -121,35 +159,42 @@ public class CommandManager implements Closeable {
             return;
         }
 
-        Command command = commandAssociations.get(invocation);
-
-        // Remove invocation
-        String[] commandArgs = new String[allArgs.length - 1];
-        System.arraycopy(allArgs, 1, commandArgs, 0, commandArgs.length);
-        String[] args;
-
         // Check for sub commands
-        if (commandArgs.length > 0 && command.getSubCommandAssociations().containsKey(commandArgs[0])) {
-            command = command.getSubCommandAssociations().get(commandArgs[0]);
-            args = new String[commandArgs.length - 1];
-            System.arraycopy(commandArgs, 1, args, 0, args.length);
-        } else
-            args = commandArgs;
+        AliasTrie.Node<SubCommand> subMatch = command.getSubCommandTrie().match(content, CommandParser.skipWhitespace(content, offset));
+        if (subMatch != null) {
+            command = subMatch.getValue();
+            offset = CommandParser.skipWhitespace(content, offset) + subMatch.length();
+        }
+
+        // Arguments are only split for actual commands
+        String[] args = CommandParser.tokenize(content, offset);
         CommandEvent commandEvent = new CommandEvent(event, bot, args, invocation);
         callCommand(command, commandEvent);
     }
 
+    /**
+     * Checks the default prefix and mentions of the bot
+     */
+    private int prefixEnd(String content, JDA jda) {
+        int offset = CommandParser.prefixLength(content, defaultPrefix);
+        if (offset != -1)
+            return offset;
+        if (selfId == null)
+            selfId = jda.getSelfUser().getId();
+        return CommandParser.mentionLength(content, selfId);
+    }
+
     private void callCommand(Command command, CommandEvent commandEvent) {
         if (commandEvent.getBot().isPremium()) {
-            if (!commandEvent.getBot().getUserCache().get(commandEvent.getGuild().getOwnerIdLong()).getPermissions().isAbleToInvite()) {
-                SafeMessage.sendMessage(commandEvent.getChannel(), EmbedUtil.small(String.format(commandEvent.translate("phrases.left.server"), commandEvent.getJDA().getSelfUser().getName())));
+            if (!Permissions.isAbleToInvite(commandEvent.getGuild())) {
+                SafeMessage.sendMessage(commandEvent.getChannel(), EmbedUtil.small(commandEvent.translate("phrases.left.server", commandEvent.getJDA().getSelfUser().getName())));
                 commandEvent.getGuild().leave().queue();
                 return;
             }
         }
 
         // Check permission
-        if (!command.getPermissions().isCovered(bot.getUserCache().get(commandEvent.getAuthor().getIdLong()).getPermissions(), commandEvent)) {
+        if (!command.getPermissions().isCovered(commandEvent.getPermissions(), commandEvent)) {
             bot.getEventManager().handle(new NoPermissionEvent(commandEvent, command));
             return;
         }
@@ -197,13 +242,31 @@ public class CommandManager implements Closeable {
         for (String alias : command.getAliases()) {
             if (commandAssociations.containsKey(alias))
                 log.warn(String.format("[CommandManager] Alias %s is already taken by %s", alias, commandAssociations.get(alias).getClass().getCanonicalName()));
-            else
+            else {
                 commandAssociations.put(alias, command);
+                aliases.put(alias, command);
+            }
         }
     }
 
     @Override
     public void close() {
-        executor.shutdown();
+        executor.close();
+    }
+
+    /**
+     * Position and node of the alias a message starts with
+     */
+    private static final class CommandMatch {
+
+        private static final CommandMatch UNKNOWN_PREFIX = new CommandMatch(-1, null);
+
+        private final int offset;
+        private final AliasTrie.Node<Command> node;
+
+        private CommandMatch(int offset, AliasTrie.Node<Command> node) {
+            this.offset = offset;
+            this.node = node;
+        }
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads prefixes and arguments directly from the raw message content, without lowercasing or splitting it first
+ */
+final class CommandParser {
+
+    private CommandParser() {
+    }
+
+    /**
+     * Returns the length of the prefix if the content starts with it ignoring case, otherwise {@code -1}
+     */
+    static int prefixLength(String content, String prefix) {
+        return content.regionMatches(true, 0, prefix, 0, prefix.length()) ? prefix.length() : -1;
+    }
+
+    /**
+     * Matches both forms of a mention, {@code <@id>} and {@code <@!id>}
+     */
+    static int mentionLength(String content, String selfId) {
+        if (!content.startsWith("<@"))
+            return -1;
+        int start = content.startsWith("!", 2) ? 3 : 2;
+        if (!content.startsWith(selfId, start) || !content.startsWith(">", start + selfId.length()))
+            return -1;
+        return start + selfId.length() + 1;
+    }
+
+    static int skipWhitespace(String content, int offset) {
+        while (offset < content.length() && AliasTrie.isWhitespace(content.charAt(offset)))
+            offset++;
+        return offset;
+    }
+
+    /**
+     * Splits the content after the offset at whitespace, like {@code split("\\s+")} on the trimmed rest
+     */
+    static String[] tokenize(String content, int offset) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = offset; i <= content.length(); i++) {
+            boolean boundary = i == content.length() || AliasTrie.isWhitespace(content.charAt(i));
+            if (boundary && start != -1) {
+                tokens.add(content.substring(start, i));
+                start = -1;
+            } else if (!boundary && start == -1)
+                start = i;
+        }
+        return tokens.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.command;
+
+import co.groovybot.bot.util.NameThreadFactory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs commands on a bounded pool with one ordered lane per guild.
+ * Commands of a guild run one after another, while different guilds run in parallel.
+ * A lane gives its thread back after every command, so a busy guild cannot starve the others.
+ */
+@Log4j2
+public class GuildCommandExecutor implements Closeable {
+
+    private final ThreadPoolExecutor pool;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final int maxLaneDepth;
+    private final int maxQueued;
+    private final AtomicInteger queued = new AtomicInteger();
+    @Getter
+    private final LongAdder rejected = new LongAdder();
+    @Getter
+    private final Timing waitTime = new Timing();
+    @Getter
+    private final Timing runTime = new Timing();
+
+    public GuildCommandExecutor(int threads, int maxLaneDepth, int maxQueued) {
+        this.maxLaneDepth = maxLaneDepth;
+        this.maxQueued = maxQueued;
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NameThreadFactory("CommandExecutor"));
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a task in the lane of the guild
+     *
+     * @return {@code false} if the lane of the guild or the whole executor is full and the task was dropped
+     */
+    public boolean submit(long guildId, Runnable task) {
+        if (queued.get() >= maxQueued) {
+            rejected.increment();
+            return false;
+        }
+
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(guildId, Lane::new);
+            synchronized (lane) {
+                // The lane drained and was removed in the meantime
+                if (lane.retired)
+                    continue;
+                if (lane.tasks.size() >= maxLaneDepth) {
+                    rejected.increment();
+                    return false;
+                }
+
+                lane.tasks.add(new Task(task, System.nanoTime()));
+                queued.incrementAndGet();
+                if (!lane.scheduled) {
+                    lane.scheduled = true;
+                    pool.execute(lane);
+                }
+                return true;
+            }
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getActiveThreads() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Returns the lanes with the most waiting commands, deepest first
+     *
+     * @param count the maximum number of lanes to return
+     */
+    public List<LaneStats> getDeepestLanes(int count) {
+        if (count <= 0)
+            return new ArrayList<>();
+
+        // Min heap of the deepest lanes seen so far, so only count lanes are ever kept
+        PriorityQueue<LaneStats> deepest = new PriorityQueue<>(count + 1, Comparator.comparingInt(LaneStats::getDepth));
+        for (Lane lane : lanes.values()) {
+            int depth = lane.getDepth();
+            if (depth == 0 || (deepest.size() == count && depth <= deepest.peek().getDepth()))
+                continue;
+            deepest.add(new LaneStats(lane.guildId, depth, lane.executed.sum(), lane.waitNanos.sum(), lane.runNanos.sum()));
+            if (deepest.size() > count)
+                deepest.poll();
+        }
+
+        List<LaneStats> stats = new ArrayList<>(deepest);
+        stats.sort(Comparator.comparingInt(LaneStats::getDepth).reversed());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    @RequiredArgsConstructor
+    private class Lane implements Runnable {
+        private final long guildId;
+        private final Queue<Task> tasks = new ArrayDeque<>();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private boolean scheduled;
+        private boolean retired;
+
+        private synchronized int getDepth() {
+            return tasks.size();
+        }
+
+        @Override
+        public void run() {
+            Task task;
+            synchronized (this) {
+                task = tasks.poll();
+            }
+            queued.decrementAndGet();
+
+            long started = System.nanoTime();
+            waitNanos.add(started - task.queuedAt);
+            waitTime.record(started - task.queuedAt);
+            try {
+                task.runnable.run();
+            } catch (Throwable t) {
+                log.error("[GuildCommandExecutor] Error while executing command in guild {}", guildId, t);
+            }
+            long duration = System.nanoTime() - started;
+            runNanos.add(duration);
+            runTime.record(duration);
+            executed.increment();
+
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    scheduled = false;
+                    retired = true;
+                    lanes.remove(guildId, this);
+                    return;
+                }
+            }
+
+            // Queueing up again lets lanes of other guilds run in between
+            try {
+                pool.execute(this);
+            } catch (RejectedExecutionException e) {
+                log.debug("[GuildCommandExecutor] Dropped lane of guild {} while shutting down", guildId);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Task {
+        private final Runnable runnable;
+        private final long queuedAt;
+    }
+
+    /**
+     * Depth of a lane and the commands it ran since it was created, a lane is removed whenever it drains
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class LaneStats {
+        private final long guildId;
+        private final int depth;
+        private final long executed;
+        private final long waitNanos;
+        private final long runNanos;
+
+        public long getAverageWaitNanos() {
+            return executed == 0 ? 0 : waitNanos / executed;
+        }
+
+        public long getAverageRunNanos() {
+            return executed == 0 ? 0 : runNanos / executed;
+        }
+    }
+
+    /**
+     * Count, sum and maximum of durations since the last reset
+     */
+    public static class Timing {
+        private long count;
+        private long total;
+        private long max;
+
+        private synchronized void record(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        /**
+         * Returns count, total and maximum in nanoseconds and starts a new interval
+         */
+        public synchronized long[] reset() {
+            long[] values = {count, total, max};
+            count = 0;
+            total = 0;
+            max = 0;
+            return values;
+        }
+    }
+}
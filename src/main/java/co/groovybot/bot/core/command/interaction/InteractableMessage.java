@@ -79,7 +79,7 @@ public abstract class InteractableMessage {
     }
 
     protected String translate(User user, String key) {
-        return GroovyBot.getInstance().getTranslationManager().getLocaleByUser(user.getId()).translate(key);
+        return GroovyBot.getInstance().getTranslationManager().getLocaleByUser(user.getIdLong()).translate(key);
     }
 
     public void onDelete() {
@@ -28,11 +28,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @Log4j2
@@ -49,6 +48,8 @@ public class Permissions {
     @Getter
     private final String identifier;
 
+    private static volatile Set<Long> owners;
+
     /**
      * Everyone can execute the command
      *
@@ -122,6 +123,13 @@ public class Permissions {
     }
 
     public Boolean isCovered(UserPermissions permissions, CommandEvent event) {
+        return isCovered(permissions, event.getMember());
+    }
+
+    /**
+     * Checks the permissions of a member without needing a command
+     */
+    public Boolean isCovered(UserPermissions permissions, Member member) {
         if (permissions.getIsOwner())
             return true;
         if (everyone)
@@ -129,32 +137,50 @@ public class Permissions {
         if (owner)
             return permissions.getIsOwner();
         if (admin)
-            return permissions.isAdmin(event.getGuild()) || event.getMember().hasPermission(Permission.MANAGE_SERVER);
+            return permissions.isAdmin(member.getGuild()) || member.hasPermission(Permission.MANAGE_SERVER);
         if (voted)
             return permissions.hasVoted();
         if (tierone)
-            return permissions.isTierOne() || isPremiumGuild(event.getGuild());
+            return permissions.isTierOne() || isPremiumGuild(member.getGuild());
         if (tiertwo)
-            return permissions.isTierTwo() || isPremiumGuild(event.getGuild());
+            return permissions.isTierTwo() || isPremiumGuild(member.getGuild());
         if (tierthree)
             return permissions.isTierThree();
         if (dj)
-            return permissions.isDj(event.getGuild());
+            return permissions.isDj(member.getGuild());
         return false;
     }
 
     private boolean isPremiumGuild(Guild guild) {
-        try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
-            PreparedStatement tierThree = connection.prepareStatement("SELECT type FROM premium WHERE user_id = ?");
-            tierThree.setLong(1, guild.getOwnerIdLong());
-            ResultSet tierThreeSet = tierThree.executeQuery();
-            if (tierThreeSet.next())
-                if (Tier.valueOf(tierThreeSet.getString("type")) == Tier.THREE)
-                    return true;
-        } catch (SQLException e) {
-            log.error("[PermissionProvider] Error while retrieving permissions!", e);
-        }
+        return GroovyBot.getInstance().getTierRegistry().getGuildTier(guild) == Tier.THREE;
+    }
 
-        return false;
+    /**
+     * Checks whether the owner of the guild is allowed to use the premium bot
+     *
+     * @param guild the guild
+     * @return if the bot may stay on the guild
+     */
+    public static boolean isAbleToInvite(Guild guild) {
+        if (GroovyBot.getInstance().getTierRegistry().getGuildTier(guild) != Tier.NONE)
+            return true;
+        return isOwner(guild.getOwnerIdLong());
+    }
+
+    /**
+     * Checks whether the user is one of the configured bot owners
+     *
+     * @param userId the id of the user
+     * @return if the user is a bot owner
+     */
+    public static boolean isOwner(long userId) {
+        Set<Long> ids = owners;
+        if (ids == null) {
+            ids = new HashSet<>();
+            for (Object id : GroovyBot.getInstance().getConfig().getJSONArray("owners"))
+                ids.add(Long.parseLong(id.toString()));
+            owners = ids;
+        }
+        return ids.contains(userId);
     }
 }
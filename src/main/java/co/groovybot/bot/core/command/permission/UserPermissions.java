@@ -29,16 +29,6 @@ import lombok.extern.log4j.Log4j2;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.Role;
-import okhttp3.HttpUrl;
-import okhttp3.Request;
-import okhttp3.Response;
-import org.json.JSONObject;
-
-import java.io.IOException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 
 @Getter
 @Log4j2
@@ -49,7 +39,7 @@ public class UserPermissions {
 
     public UserPermissions(GroovyUser groovyUser, GroovyBot bot) {
         this.groovyUser = groovyUser;
-        this.isOwner = bot.getConfig().getJSONArray("owners").toString().contains(groovyUser.getEntityId().toString());
+        this.isOwner = Permissions.isOwner(groovyUser.getEntityId());
     }
 
     public boolean isAdmin(Guild guild) {
@@ -58,11 +48,12 @@ public class UserPermissions {
     }
 
     public boolean isTierOne() {
-        return retrievePatreonTier() == Tier.ONE || retrievePatreonTier() == Tier.TWO || retrievePatreonTier() == Tier.THREE;
+        return retrievePatreonTier() != Tier.NONE;
     }
 
     public boolean isTierTwo() {
-        return retrievePatreonTier() == Tier.TWO || retrievePatreonTier() == Tier.THREE;
+        Tier tier = retrievePatreonTier();
+        return tier == Tier.TWO || tier == Tier.THREE;
     }
 
     public boolean isTierThree() {
@@ -71,40 +62,12 @@ public class UserPermissions {
 
     private Tier retrievePatreonTier() {
         if (isOwner) return Tier.THREE;
-        try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
-            PreparedStatement premium = connection.prepareStatement("SELECT type FROM premium WHERE user_id = ?");
-            premium.setLong(1, groovyUser.getEntityId());
-            ResultSet premiumSet = premium.executeQuery();
-            if (premiumSet.next())
-                if (Tier.valueOf(premiumSet.getString("type")) != Tier.NONE)
-                    return Tier.valueOf(premiumSet.getString("type"));
-
-            PreparedStatement voted = connection.prepareStatement("SELECT expiration FROM users WHERE user_id = ?");
-            voted.setLong(1, groovyUser.getEntityId());
-            ResultSet votedSet = voted.executeQuery();
-            if (votedSet.next())
-                if (votedSet.getLong("expiration") > System.currentTimeMillis())
-                    return Tier.TWO;
-        } catch (SQLException e) {
-            log.error("[PermissionProvider] Error while retrieving permissions!", e);
-        }
-
-        return Tier.NONE;
+        return GroovyBot.getInstance().getTierRegistry().getTier(groovyUser.getEntityId());
     }
 
     public boolean isAbleToInvite() {
         if (isOwner) return true;
-        try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
-            PreparedStatement premium = connection.prepareStatement("SELECT type FROM premium WHERE user_id = ?");
-            premium.setLong(1, groovyUser.getEntityId());
-            ResultSet premiumSet = premium.executeQuery();
-            if (premiumSet.next())
-                return Tier.valueOf(premiumSet.getString("type")) != Tier.NONE;
-        } catch (SQLException e) {
-            log.error("[PermissionProvider] Error while retrieving permissions!", e);
-        }
-
-        return false;
+        return GroovyBot.getInstance().getTierRegistry().getPatronTier(groovyUser.getEntityId()) != Tier.NONE;
     }
 
     public boolean isDj(Guild guild) {
@@ -131,22 +94,6 @@ public class UserPermissions {
     }
 
     public boolean hasVoted() {
-        Request request = new Request.Builder()
-                .url(new HttpUrl.Builder()
-                        .scheme("https")
-                        .host("discordbots.org")
-                        .addPathSegments(String.format("api/bots/%s/check", "402116404301660181"))
-                        .addQueryParameter("userId", String.valueOf(groovyUser.getEntityId()))
-                        .build())
-                .addHeader("Authorization", GroovyBot.getInstance().getConfig().getJSONObject("botlists").getString("DiscordBotsORG"))
-                .get()
-                .build();
-        try (Response response = GroovyBot.getInstance().getHttpClient().newCall(request).execute()) {
-            assert response.body() != null;
-            return new JSONObject(response.body().string()).getInt("voted") == 1;
-        } catch (IOException e) {
-            log.error("[DBL] Error occurred while retrieving vote information");
-            return false;
-        }
+        return GroovyBot.getInstance().getVoteService().hasVoted(groovyUser.getEntityId());
     }
 }
@@ -23,6 +23,7 @@ import co.groovybot.bot.GroovyBot;
 import lombok.Getter;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 public abstract class DatabaseEntitiy {
@@ -34,7 +35,20 @@ public abstract class DatabaseEntitiy {
         this.entityId = entityId;
     }
 
-    public abstract void updateInDatabase() throws Exception;
+    /**
+     * Statement which writes this entity back, shared by all entities of the same type so they can be batched
+     */
+    public abstract String getUpdateStatement();
+
+    public abstract void bindUpdate(PreparedStatement ps) throws SQLException;
+
+    public void updateInDatabase() throws SQLException {
+        try (Connection connection = getConnection()) {
+            PreparedStatement ps = connection.prepareStatement(getUpdateStatement());
+            bindUpdate(ps);
+            ps.execute();
+        }
+    }
 
     protected Connection getConnection() throws SQLException {
         return GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection();
@@ -29,6 +29,8 @@ import org.json.JSONArray;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.util.List;
 
 @Getter
@@ -58,17 +60,7 @@ public class GroovyGuild extends DatabaseEntitiy {
             ps.setLong(1, entityId);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                volume = rs.getInt("volume");
-                prefix = rs.getString("prefix");
-                djMode = rs.getBoolean("dj_mode");
-                announceSongs = rs.getBoolean("announce_songs");
-                autoLeave = rs.getBoolean("auto_leave");
-                autoPause = rs.getBoolean("auto_pause");
-                autoJoinChannelId = rs.getLong("auto_join_channel");
-                botChannel = rs.getLong("commands_channel");
-                blacklistedChannels = new JSONArray(rs.getString("blacklisted_channels"));
-                preventDups = rs.getBoolean("prevent_dups");
-                deleteMessages = rs.getBoolean("delete_messages");
+                load(rs);
             } else {
                 PreparedStatement insertStatement = connection.prepareStatement("INSERT INTO guilds (id, prefix, volume, dj_mode, announce_songs, auto_leave, blacklisted_channels, commands_channel, auto_pause, prevent_dups, delete_messages) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
                 insertStatement.setLong(1, entityId);
@@ -87,24 +79,57 @@ public class GroovyGuild extends DatabaseEntitiy {
         }
     }
 
+    /**
+     * Creates a guild from a row that was already fetched, or with default settings if {@code rs} is {@code null}.
+     * Guilds without a row get one with the next write, as updates are upserts.
+     */
+    public GroovyGuild(Long entityId, ResultSet rs) throws SQLException {
+        super(entityId);
+        if (rs != null)
+            load(rs);
+    }
+
+    private void load(ResultSet rs) throws SQLException {
+        volume = rs.getInt("volume");
+        prefix = rs.getString("prefix");
+        djMode = rs.getBoolean("dj_mode");
+        announceSongs = rs.getBoolean("announce_songs");
+        autoLeave = rs.getBoolean("auto_leave");
+        autoPause = rs.getBoolean("auto_pause");
+        autoJoinChannelId = rs.getLong("auto_join_channel");
+        botChannel = rs.getLong("commands_channel");
+        blacklistedChannels = new JSONArray(rs.getString("blacklisted_channels"));
+        preventDups = rs.getBoolean("prevent_dups");
+        deleteMessages = rs.getBoolean("delete_messages");
+        searchPlay = rs.getBoolean("search_play");
+        djRole = rs.getLong("dj_role");
+    }
+
     @Override
-    public void updateInDatabase() throws Exception {
-        try (Connection connection = getConnection()) {
-            PreparedStatement ps = connection.prepareStatement("UPDATE guilds SET volume = ?, prefix = ?, dj_mode = ?, announce_songs = ?, auto_leave = ?, commands_channel = ?, blacklisted_channels = ?, auto_pause = ?, auto_join_channel = ?, prevent_dups = ?, delete_messages = ? WHERE id = ?");
-            ps.setInt(1, volume);
-            ps.setString(2, prefix);
-            ps.setBoolean(3, djMode);
-            ps.setBoolean(4, announceSongs);
-            ps.setBoolean(5, autoLeave);
-            ps.setLong(6, botChannel);
-            ps.setString(7, blacklistedChannels.toString());
-            ps.setBoolean(8, autoPause);
-            ps.setLong(9, autoJoinChannelId);
-            ps.setBoolean(10, preventDups);
-            ps.setBoolean(11, deleteMessages);
-            ps.setLong(12, entityId);
-            ps.execute();
-        }
+    public String getUpdateStatement() {
+        return "INSERT INTO guilds (volume, prefix, dj_mode, announce_songs, auto_leave, commands_channel, blacklisted_channels, auto_pause, auto_join_channel, prevent_dups, delete_messages, search_play, dj_role, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (id) DO UPDATE SET volume = excluded.volume, prefix = excluded.prefix, dj_mode = excluded.dj_mode, announce_songs = excluded.announce_songs, auto_leave = excluded.auto_leave, commands_channel = excluded.commands_channel, blacklisted_channels = excluded.blacklisted_channels, auto_pause = excluded.auto_pause, auto_join_channel = excluded.auto_join_channel, prevent_dups = excluded.prevent_dups, delete_messages = excluded.delete_messages, search_play = excluded.search_play, dj_role = excluded.dj_role";
+    }
+
+    @Override
+    public void bindUpdate(PreparedStatement ps) throws SQLException {
+        ps.setInt(1, volume);
+        ps.setString(2, prefix);
+        ps.setBoolean(3, djMode);
+        ps.setBoolean(4, announceSongs);
+        ps.setBoolean(5, autoLeave);
+        ps.setLong(6, botChannel);
+        ps.setString(7, blacklistedChannels.toString());
+        ps.setBoolean(8, autoPause);
+        ps.setLong(9, autoJoinChannelId);
+        ps.setBoolean(10, preventDups);
+        ps.setBoolean(11, deleteMessages);
+        ps.setBoolean(12, searchPlay);
+        if (djRole == 0)
+            ps.setNull(13, Types.BIGINT);
+        else
+            ps.setLong(13, djRole);
+        ps.setLong(14, entityId);
     }
 
     public void setDeleteMessages(boolean deleteMessage) {
@@ -225,5 +250,6 @@ public class GroovyGuild extends DatabaseEntitiy {
         autoPause = false;
         preventDups = false;
         deleteMessages = false;
+        update();
     }
 }
@@ -20,12 +20,14 @@
 package co.groovybot.bot.core.entity.entities;
 
 import co.groovybot.bot.GroovyBot;
+import co.groovybot.bot.core.audio.playlists.PlaylistTrackRepository;
+import co.groovybot.bot.core.audio.playlists.PlaylistTrackRepository.StoredTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import lavalink.client.LavalinkUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.log4j.Log4j2;
-import org.json.JSONArray;
 
 import java.io.IOException;
 import java.sql.Connection;
@@ -35,8 +37,11 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A playlist whose tracks are only fetched and decoded once they are needed
+ */
 @Log4j2
-@ToString
+@ToString(exclude = {"songs", "positions"})
 @Getter
 public class GroovyPlaylist {
 
@@ -45,16 +50,21 @@ public class GroovyPlaylist {
     private String name;
     private boolean isPublic;
     private int count;
+    @Getter(AccessLevel.NONE)
+    private int trackCount;
+    @Getter(AccessLevel.NONE)
     private List<AudioTrack> songs;
+    @Getter(AccessLevel.NONE)
+    private final List<Long> positions = new ArrayList<>();
 
-    public GroovyPlaylist(ResultSet rs) {
+    public GroovyPlaylist(ResultSet rs, long pendingPlays) {
         try {
             this.authorId = rs.getLong("author_id");
-            this.songs = decodeTracks(new JSONArray(rs.getString("tracks")));
             this.name = rs.getString("name");
             this.id = rs.getLong("id");
-            this.count = rs.getInt("count");
+            this.count = rs.getInt("count") + (int) pendingPlays;
             this.isPublic = rs.getBoolean("public");
+            this.trackCount = rs.getInt("track_count");
         } catch (SQLException e) {
             log.error("[GroovyPlaylist] Error while retrieving playlist", e);
         }
@@ -64,82 +74,144 @@ public class GroovyPlaylist {
         this.name = name;
         this.authorId = authorId;
         this.id = id;
-        this.songs = songs;
+        this.songs = copy(songs);
         try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
             PreparedStatement ps = connection.prepareStatement(
-                    "INSERT INTO playlists (author_id, tracks, name, id) VALUES (?, ?, ?, ?)");
+                    "INSERT INTO playlists (author_id, name, id) VALUES (?, ?, ?)");
             ps.setLong(1, this.authorId);
-            ps.setString(2, convertTracks().toString());
-            ps.setString(3, this.name);
-            ps.setLong(4, this.id);
+            ps.setString(2, this.name);
+            ps.setLong(3, this.id);
             ps.execute();
-        } catch (SQLException e) {
+            positions.addAll(repository().insertAll(id, songs));
+        } catch (SQLException | IOException e) {
             log.error("[GroovyPlaylist] Error while saving playlist", e);
         }
     }
 
-    private void update() {
+    /**
+     * Returns copies of the tracks, so they can be queued without sharing state with the cached playlist
+     */
+    public synchronized List<AudioTrack> getSongs() {
+        return ensureLoaded() ? copy(songs) : new ArrayList<>();
+    }
+
+    public synchronized int getTrackCount() {
+        return songs == null ? trackCount : songs.size();
+    }
+
+    private boolean ensureLoaded() {
+        if (songs != null)
+            return true;
+
+        List<StoredTrack> tracks;
+        try {
+            tracks = repository().load(id);
+        } catch (SQLException e) {
+            log.error("[GroovyPlaylist] Error while retrieving songs", e);
+            return false;
+        }
+
+        List<AudioTrack> decoded = new ArrayList<>(tracks.size());
+        for (StoredTrack track : tracks) {
+            try {
+                decoded.add(LavalinkUtil.toAudioTrack(track.getData()));
+                positions.add(track.getPosition());
+            } catch (IOException e) {
+                log.warn("[GroovyPlaylist] Error while decoding song", e);
+            }
+        }
+        songs = decoded;
+        return true;
+    }
+
+    private void updateMetadata(String column, Object value) {
         try (Connection connection = GroovyBot.getInstance().getPostgreSQL().getDataSource().getConnection()) {
-            PreparedStatement ps = connection.prepareStatement(
-                    "UPDATE playlists SET tracks = ?, public = ?, count = ?, name = ? WHERE id = ?"
-            );
-            ps.setString(1, convertTracks().toString());
-            ps.setBoolean(2, isPublic);
-            ps.setInt(3, count);
-            ps.setString(4, name);
-            ps.setLong(5, id);
+            PreparedStatement ps = connection.prepareStatement(String.format("UPDATE playlists SET %s = ? WHERE id = ?", column));
+            ps.setObject(1, value);
+            ps.setLong(2, id);
             ps.execute();
         } catch (SQLException e) {
             log.error("[GroovyPlaylist] Error while saving playlist", e);
         }
     }
 
-    public void addTrack(AudioTrack track) {
-        songs.add(track);
-        update();
+    public synchronized void addTrack(AudioTrack track) {
+        if (!ensureLoaded())
+            return;
+        try {
+            long last = positions.isEmpty() ? 0 : positions.get(positions.size() - 1);
+            positions.add(repository().append(id, last, track));
+            songs.add(track.makeClone());
+        } catch (SQLException | IOException e) {
+            log.error("[GroovyPlaylist] Error while adding song", e);
+        }
     }
 
-    public void removeTrack(int index) {
-        songs.remove(index);
-        update();
+    public synchronized void removeTrack(int index) {
+        if (!ensureLoaded())
+            return;
+        try {
+            repository().remove(id, positions.get(index));
+            positions.remove(index);
+            songs.remove(index);
+        } catch (SQLException e) {
+            log.error("[GroovyPlaylist] Error while removing song", e);
+        }
+    }
+
+    public synchronized void moveTrack(int from, int to) {
+        if (from == to || !ensureLoaded())
+            return;
+        try {
+            List<Long> reordered = new ArrayList<>(positions);
+            long source = reordered.remove(from);
+            long before = to == 0 ? 0 : reordered.get(to - 1);
+            long after = to == reordered.size() ? before + 2 * PlaylistTrackRepository.GAP : reordered.get(to);
+            reordered.add(to, source);
+
+            if (after - before < 2)
+                reordered = repository().renumber(id, reordered);
+            else {
+                long target = before + (after - before) / 2;
+                repository().move(id, source, target);
+                reordered.set(to, target);
+            }
+
+            positions.clear();
+            positions.addAll(reordered);
+            songs.add(to, songs.remove(from));
+        } catch (SQLException e) {
+            log.error("[GroovyPlaylist] Error while moving song", e);
+        }
     }
 
     public void setPublic(boolean bool) {
         isPublic = bool;
-        update();
+        updateMetadata("public", bool);
+        GroovyBot.getInstance().getPlaylistManager().getLeaderboard().offer(this);
     }
 
     public void increaseCount() {
-        count++;
-        update();
+        synchronized (this) {
+            count++;
+        }
+        GroovyBot.getInstance().getPlaylistManager().getPlayCounter().increment(id);
+        GroovyBot.getInstance().getPlaylistManager().getLeaderboard().offer(this);
     }
 
     public void setName(String name) {
         this.name = name;
-        update();
+        updateMetadata("name", name);
+        GroovyBot.getInstance().getPlaylistManager().invalidate(authorId);
     }
 
-    private JSONArray convertTracks() {
-        JSONArray tracks = new JSONArray();
-        songs.forEach(track -> {
-            try {
-                tracks.put(LavalinkUtil.toMessage(track));
-            } catch (IOException e) {
-                log.warn("[GroovyPlaylist] Error while encoding song", e);
-            }
-        });
-        return tracks;
+    private static List<AudioTrack> copy(List<AudioTrack> tracks) {
+        List<AudioTrack> copies = new ArrayList<>(tracks.size());
+        tracks.forEach(track -> copies.add(track.makeClone()));
+        return copies;
     }
 
-    private List<AudioTrack> decodeTracks(JSONArray identifiers) {
-        List<AudioTrack> tracks = new ArrayList<>();
-        for (Object identifier : identifiers) {
-            try {
-                tracks.add(LavalinkUtil.toAudioTrack((String) identifier));
-            } catch (IOException e) {
-                log.warn("[GroovyPlaylist] Error while decoding song", e);
-            }
-        }
-        return tracks;
+    private static PlaylistTrackRepository repository() {
+        return GroovyBot.getInstance().getPlaylistManager().getTrackRepository();
     }
 }
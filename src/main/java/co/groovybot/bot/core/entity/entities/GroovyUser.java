@@ -38,6 +38,7 @@ public class GroovyUser extends DatabaseEntitiy {
 
     private long expiration = 0;
     private long again = 0;
+    private boolean friend = false;
     private Locale locale = GroovyBot.getInstance().getTranslationManager().getDefaultLocale().getLocale();
 
     public GroovyUser(Long entityId) throws Exception {
@@ -51,6 +52,7 @@ public class GroovyUser extends DatabaseEntitiy {
                 locale = Locale.forLanguageTag(userResult.getString("locale").replace("_", "-"));
                 expiration = userResult.getLong("expiration");
                 again = userResult.getLong("again");
+                friend = userResult.getBoolean("friend");
             } else {
                 PreparedStatement insertUser = connection.prepareStatement("INSERT INTO users (user_id, locale, expiration, again) VALUES (?, ?, ?, ?)");
                 insertUser.setLong(1, entityId);
@@ -63,15 +65,17 @@ public class GroovyUser extends DatabaseEntitiy {
     }
 
     @Override
-    public void updateInDatabase() throws Exception {
-        try (Connection connection = getConnection()) {
-            PreparedStatement user = connection.prepareStatement("UPDATE users SET locale = ?, expiration = ?, again = ? WHERE user_id = ?");
-            user.setString(1, locale.toLanguageTag().replace("-", "_"));
-            user.setLong(2, expiration);
-            user.setLong(3, again);
-            user.setLong(4, entityId);
-            user.execute();
-        }
+    public String getUpdateStatement() {
+        return "UPDATE users SET locale = ?, expiration = ?, again = ?, friend = ? WHERE user_id = ?";
+    }
+
+    @Override
+    public void bindUpdate(PreparedStatement ps) throws SQLException {
+        ps.setString(1, locale.toLanguageTag().replace("-", "_"));
+        ps.setLong(2, expiration);
+        ps.setLong(3, again);
+        ps.setBoolean(4, friend);
+        ps.setLong(5, entityId);
     }
 
     public void setLocale(Locale locale) {
@@ -82,6 +86,7 @@ public class GroovyUser extends DatabaseEntitiy {
     public void setVoted(long expiration, long again) {
         this.expiration = expiration;
         this.again = again;
+        GroovyBot.getInstance().getTierRegistry().setVoteExpiration(entityId, expiration);
         update();
     }
 
@@ -90,60 +95,16 @@ public class GroovyUser extends DatabaseEntitiy {
     }
 
     public boolean hasAlreadyVoted() {
-        try {
-            Connection connection = this.getConnection();
-            PreparedStatement voted = connection.prepareStatement("SELECT expiration FROM users WHERE user_id = ?");
-            voted.setLong(1, entityId);
-
-            ResultSet votedResult = voted.executeQuery();
-            if (votedResult.next())
-                if (votedResult.getLong("expiration") > System.currentTimeMillis()) return true;
-        } catch (SQLException e) {
-            log.error("[GroovyUser] Error while checking for hasVoted!", e);
-        }
-        return false;
+        return expiration > System.currentTimeMillis();
     }
 
     public boolean isAbleToVote() {
-        try {
-            Connection connection = this.getConnection();
-            PreparedStatement voted = connection.prepareStatement("SELECT again FROM users WHERE user_id = ?");
-            voted.setLong(1, entityId);
-
-            ResultSet votedResult = voted.executeQuery();
-            if (votedResult.next())
-                if (votedResult.getLong("again") < System.currentTimeMillis()) return true;
-        } catch (SQLException e) {
-            log.error("[GroovyUser] Error while checking for hasVoted!", e);
-        }
-        return false;
-    }
-
-    public boolean isFriend() {
-        try {
-            Connection connection = this.getConnection();
-            PreparedStatement user = connection.prepareStatement("SELECT * FROM users WHERE user_id = ?");
-            user.setLong(1, entityId);
-
-            ResultSet userResult = user.executeQuery();
-            if (userResult.next())
-                return userResult.getBoolean("friend");
-        } catch (SQLException e) {
-            log.error("[GroovyUser] Error while checking for isFriend!", e);
-        }
-        return false;
+        return again < System.currentTimeMillis();
     }
 
     public void setFriend(boolean friend) {
-        try {
-            Connection connection = this.getConnection();
-            PreparedStatement user = connection.prepareStatement("UPDATE users SET friend = ? WHERE user_id = ?");
-            user.setBoolean(1, friend);
-            user.setLong(2, entityId);
-            user.execute();
-        } catch (SQLException e) {
-            log.error("[GroovyUser] Error while checking for isFriend!", e);
-        }
+        this.friend = friend;
+        update();
     }
 
     public UserPermissions getPermissions() {
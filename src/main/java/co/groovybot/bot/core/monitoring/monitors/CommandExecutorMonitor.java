@@ -0,0 +1,70 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.core.monitoring.monitors;
+
+import co.groovybot.bot.GroovyBot;
+import co.groovybot.bot.core.command.CommandManager;
+import co.groovybot.bot.core.command.GuildCommandExecutor;
+import co.groovybot.bot.core.monitoring.Monitor;
+import org.influxdb.dto.Point;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class CommandExecutorMonitor extends Monitor {
+
+    private static final int REPORTED_LANES = 5;
+
+    @Override
+    public Point save() {
+        CommandManager commandManager = GroovyBot.getInstance().getCommandManager();
+        GuildCommandExecutor executor = commandManager.getExecutor();
+        long filtered = commandManager.getFilteredMessages().sumThenReset();
+        long dispatched = commandManager.getDispatchedMessages().sumThenReset();
+        long[] wait = executor.getWaitTime().reset();
+        long[] run = executor.getRunTime().reset();
+        List<GuildCommandExecutor.LaneStats> deepest = executor.getDeepestLanes(REPORTED_LANES);
+
+        Point.Builder point = Point.measurement("command_executor")
+                .addField("filtered_messages", filtered)
+                .addField("dispatched_messages", dispatched)
+                .addField("drop_ratio", filtered + dispatched == 0 ? 0 : (double) filtered / (filtered + dispatched))
+                .addField("lanes", executor.getLaneCount())
+                .addField("queued", executor.getQueued())
+                .addField("active_threads", executor.getActiveThreads())
+                .addField("rejected", executor.getRejected().sumThenReset())
+                .addField("executed", wait[0])
+                .addField("average_wait_time", wait[0] == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(wait[1] / wait[0]))
+                .addField("max_wait_time", TimeUnit.NANOSECONDS.toMillis(wait[2]))
+                .addField("average_run_time", run[0] == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(run[1] / run[0]))
+                .addField("max_run_time", TimeUnit.NANOSECONDS.toMillis(run[2]));
+
+        // Fields are always written for every rank, so a rank without a waiting lane reads as 0 instead of its last value
+        for (int rank = 0; rank < REPORTED_LANES; rank++) {
+            GuildCommandExecutor.LaneStats lane = rank < deepest.size() ? deepest.get(rank) : null;
+            String prefix = "lane_" + (rank + 1) + "_";
+            point.addField(prefix + "guild", lane == null ? 0 : lane.getGuildId())
+                    .addField(prefix + "depth", lane == null ? 0 : lane.getDepth())
+                    .addField(prefix + "executed", lane == null ? 0 : lane.getExecuted())
+                    .addField(prefix + "average_wait_time", lane == null ? 0 : TimeUnit.NANOSECONDS.toMillis(lane.getAverageWaitNanos()))
+                    .addField(prefix + "average_run_time", lane == null ? 0 : TimeUnit.NANOSECONDS.toMillis(lane.getAverageRunNanos()));
+        }
+        return point.build();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.monitoring.monitors;
+
+import co.groovybot.bot.core.cache.Cache;
+import co.groovybot.bot.core.monitoring.Monitor;
+import com.google.common.cache.CacheStats;
+import org.influxdb.dto.Point;
+
+import java.util.concurrent.TimeUnit;
+
+public class EntityCacheMonitor extends Monitor {
+
+    private final String name;
+    private final Cache<?> cache;
+    private CacheStats previous = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    public EntityCacheMonitor(String name, Cache<?> cache) {
+        this.name = name;
+        this.cache = cache;
+    }
+
+    @Override
+    public Point save() {
+        CacheStats current = cache.getStats();
+        CacheStats stats = current.minus(previous);
+        previous = current;
+
+        return Point.measurement("entity_cache")
+                .tag("cache", name)
+                .addField("size", cache.size())
+                .addField("hits", stats.hitCount())
+                .addField("misses", stats.missCount())
+                .addField("evictions", stats.evictionCount())
+                .addField("load_failures", stats.loadExceptionCount())
+                .addField("average_load_time", TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()))
+                .addField("writes", cache.getWrites().getAndSet(0))
+                .addField("coalesced_writes", cache.getCoalescedWrites().getAndSet(0))
+                .build();
+    }
+}
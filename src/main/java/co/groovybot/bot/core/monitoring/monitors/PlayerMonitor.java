@@ -0,0 +1,34 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.monitoring.monitors;
+
+import co.groovybot.bot.core.audio.PlayerCheckHandler;
+import co.groovybot.bot.core.monitoring.Monitor;
+import org.influxdb.dto.Point;
+
+public class PlayerMonitor extends Monitor {
+
+    @Override
+    public Point save() {
+        return Point.measurement("players")
+                .addField("active_timers", PlayerCheckHandler.getActiveTimers())
+                .build();
+    }
+}
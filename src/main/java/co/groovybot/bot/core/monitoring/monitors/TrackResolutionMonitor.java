@@ -0,0 +1,51 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.monitoring.monitors;
+
+import co.groovybot.bot.GroovyBot;
+import co.groovybot.bot.core.audio.AudioTrackFactory;
+import co.groovybot.bot.core.cache.TrackResolutionCache;
+import co.groovybot.bot.core.monitoring.Monitor;
+import org.influxdb.dto.Point;
+
+public class TrackResolutionMonitor extends Monitor {
+
+    @Override
+    public Point save() {
+        AudioTrackFactory factory = GroovyBot.getInstance().getLavalinkManager().getAudioTrackFactory();
+        TrackResolutionCache cache = GroovyBot.getInstance().getTrackResolutionCache();
+        int playlists = factory.getConvertedPlaylists().getAndSet(0);
+        int playlistTracks = factory.getConvertedPlaylistTracks().getAndSet(0);
+        long playlistMillis = factory.getPlaylistMillis().getAndSet(0);
+        int tracks = factory.getResolvedTracks().getAndSet(0);
+        long millis = factory.getResolutionMillis().getAndSet(0);
+
+        return Point.measurement("track_resolution")
+                .addField("playlists", playlists)
+                .addField("average_playlist_size", playlists == 0 ? 0D : (double) playlistTracks / playlists)
+                .addField("average_playlist_latency", playlists == 0 ? 0D : (double) playlistMillis / playlists)
+                .addField("tracks", tracks)
+                .addField("average_latency", tracks == 0 ? 0D : (double) millis / tracks)
+                .addField("cache_hits", cache.getMemoryHits().getAndSet(0))
+                .addField("database_hits", cache.getDatabaseHits().getAndSet(0))
+                .addField("cache_misses", cache.getMisses().getAndSet(0))
+                .build();
+    }
+}
@@ -34,9 +34,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Log4j2
 public class PremiumHandler {
 
+    private final TierRegistry tierRegistry;
     private Map<Long, Tier> patrons = new HashMap<>();
     private Connection connection;
 
+    public PremiumHandler(TierRegistry tierRegistry) {
+        this.tierRegistry = tierRegistry;
+    }
+
     public void initializePatrons(Guild guild, Connection connection) {
         log.info("[PremiumHandler] Initializing PremiumHandler ...");
 
@@ -53,6 +58,7 @@ public class PremiumHandler {
         try {
             PreparedStatement remove = connection.prepareStatement("TRUNCATE premium");
             remove.execute();
+            tierRegistry.clearPatrons();
 
             PreparedStatement premium = connection.prepareStatement("SELECT * FROM premium");
             ResultSet premiumSet = premium.executeQuery();
@@ -77,6 +83,7 @@ public class PremiumHandler {
     }
 
     public void addPatron(long id, Tier tier) {
+        tierRegistry.setPatron(id, tier);
         try {
             PreparedStatement insert = connection.prepareStatement("INSERT INTO premium (user_id, type) VALUES (?, ?)");
             insert.setLong(1, id);
@@ -88,6 +95,7 @@ public class PremiumHandler {
     }
 
     public void updatePatron(long id, Tier tier) {
+        tierRegistry.setPatron(id, tier);
         try {
             PreparedStatement insert = connection.prepareStatement("UPDATE premium SET type = ? WHERE user_id = ?");
             insert.setString(1, tier.toString());
@@ -99,6 +107,7 @@ public class PremiumHandler {
     }
 
     public void removePatron(long id) {
+        tierRegistry.removePatron(id);
         try {
             PreparedStatement remove = connection.prepareStatement("DELETE FROM premium WHERE user_id = ?");
             remove.setLong(1, id);
@@ -19,8 +19,13 @@
 
 package co.groovybot.bot.core.premium;
 
+import co.groovybot.bot.GroovyBot;
 import co.groovybot.bot.core.entity.entities.GroovyUser;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 public class PremiumManager {
 
     /**
@@ -33,13 +38,17 @@ public class PremiumManager {
     }
 
     /**
-     * Checks if a groovyUser has voted
+     * Checks if a groovyUser has voted, asking discordbots.org for at most five seconds if the vote is not known yet
      *
      * @param groovyUser The groovyUser that needs to be checked
      * @return if the groovyUser used the command or not
      */
     public static boolean hasVoted(GroovyUser groovyUser) {
-        return groovyUser.hasVoted();
+        try {
+            return GroovyBot.getInstance().getVoteService().check(groovyUser.getEntityId()).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            return false;
+        }
     }
 
     /**
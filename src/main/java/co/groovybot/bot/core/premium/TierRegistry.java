@@ -0,0 +1,136 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.premium;
+
+import co.groovybot.bot.util.LongLongMap;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.log4j.Log4j2;
+import net.dv8tion.jda.core.entities.Guild;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Keeps the patron tiers and vote expirations of all users in memory, so tier checks do not need the database
+ */
+@Log4j2
+public class TierRegistry {
+
+    private static final Tier[] TIERS = Tier.values();
+
+    private final LongLongMap patrons = new LongLongMap(1024);
+    private final LongLongMap voteExpirations = new LongLongMap(4096);
+    // Patron tier of each guild's owner, cleared whenever a patron or an owner changes
+    private final LongLongMap guildTiers = new LongLongMap(4096);
+    private final Object guildTiersLock = new Object();
+    // Incremented with every invalidation of guildTiers, written under guildTiersLock
+    private volatile long guildTiersEpoch;
+
+    public void load(HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            ResultSet premium = connection.prepareStatement("SELECT user_id, type FROM premium").executeQuery();
+            while (premium.next())
+                setPatron(premium.getLong("user_id"), Tier.valueOf(premium.getString("type")));
+
+            PreparedStatement voted = connection.prepareStatement("SELECT user_id, expiration FROM users WHERE expiration > ?");
+            voted.setLong(1, System.currentTimeMillis());
+            ResultSet votes = voted.executeQuery();
+            while (votes.next())
+                setVoteExpiration(votes.getLong("user_id"), votes.getLong("expiration"));
+        } catch (SQLException e) {
+            log.error("[TierRegistry] Error while loading tiers!", e);
+        }
+
+        log.info("[TierRegistry] Loaded {} patrons and {} active votes", patrons.size(), voteExpirations.size());
+    }
+
+    /**
+     * Returns the patron tier of the user or {@link Tier#TWO} if the user has an active vote
+     */
+    public Tier getTier(long userId) {
+        Tier tier = getPatronTier(userId);
+        if (tier != Tier.NONE)
+            return tier;
+        return voteExpirations.get(userId, 0) > System.currentTimeMillis() ? Tier.TWO : Tier.NONE;
+    }
+
+    public Tier getPatronTier(long userId) {
+        return TIERS[(int) patrons.get(userId, Tier.NONE.ordinal())];
+    }
+
+    public void setPatron(long userId, Tier tier) {
+        if (tier == Tier.NONE)
+            patrons.remove(userId);
+        else
+            patrons.put(userId, tier.ordinal());
+        clearGuildTiers();
+    }
+
+    public void removePatron(long userId) {
+        patrons.remove(userId);
+        clearGuildTiers();
+    }
+
+    public void clearPatrons() {
+        patrons.clear();
+        clearGuildTiers();
+    }
+
+    /**
+     * Returns the patron tier of the guild's owner
+     */
+    public Tier getGuildTier(Guild guild) {
+        long cached = guildTiers.get(guild.getIdLong(), -1);
+        if (cached >= 0)
+            return TIERS[(int) cached];
+
+        long epoch = guildTiersEpoch;
+        Tier tier = getPatronTier(guild.getOwnerIdLong());
+        synchronized (guildTiersLock) {
+            // A patron or owner changed while the tier was looked up, caching it could bring back the old tier
+            if (epoch == guildTiersEpoch)
+                guildTiers.put(guild.getIdLong(), tier.ordinal());
+        }
+        return tier;
+    }
+
+    public void invalidateGuild(long guildId) {
+        synchronized (guildTiersLock) {
+            guildTiersEpoch++;
+            guildTiers.remove(guildId);
+        }
+    }
+
+    private void clearGuildTiers() {
+        synchronized (guildTiersLock) {
+            guildTiersEpoch++;
+            guildTiers.clear();
+        }
+    }
+
+    public void setVoteExpiration(long userId, long expiration) {
+        if (expiration > System.currentTimeMillis())
+            voteExpirations.put(userId, expiration);
+        else
+            voteExpirations.remove(userId);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.premium;
+
+import co.groovybot.bot.util.LongLongMap;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.log4j.Log4j2;
+import okhttp3.*;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Knows which users voted for the bot on discordbots.org.
+ * Votes are pushed by the webhook receiver; users without a known vote are looked up in the background,
+ * so permission checks never wait for the API.
+ */
+@Log4j2
+public class VoteService {
+
+    // A vote on discordbots.org counts for twelve hours
+    private static final long VOTE_DURATION = TimeUnit.HOURS.toMillis(12);
+    // How long a negative answer from the API is trusted before asking again
+    private static final long NEGATIVE_TTL = TimeUnit.MINUTES.toMillis(2);
+
+    private final HikariDataSource dataSource;
+    private final OkHttpClient httpClient;
+    private final HttpUrl checkUrl;
+    private final String token;
+    private final LongLongMap votes = new LongLongMap(4096);
+    private final LongLongMap checkedUntil = new LongLongMap(4096);
+    private final Map<Long, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+
+    public VoteService(HikariDataSource dataSource, OkHttpClient httpClient, JSONObject config, String token) {
+        this.dataSource = dataSource;
+        this.httpClient = httpClient.newBuilder()
+                .connectTimeout(3, TimeUnit.SECONDS)
+                .readTimeout(3, TimeUnit.SECONDS)
+                .build();
+        this.checkUrl = HttpUrl.parse(config.getString("api_url")).newBuilder()
+                .addPathSegments(String.format("api/bots/%s/check", config.getString("bot_id")))
+                .build();
+        this.token = token;
+    }
+
+    public void load() {
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("SELECT user_id, vote_expiration FROM users WHERE vote_expiration > ?");
+            ps.setLong(1, System.currentTimeMillis());
+            ResultSet rs = ps.executeQuery();
+            while (rs.next())
+                votes.put(rs.getLong("user_id"), rs.getLong("vote_expiration"));
+        } catch (SQLException e) {
+            log.error("[VoteService] Error while loading votes!", e);
+        }
+    }
+
+    /**
+     * Returns whether the user is known to have voted. If nothing is known, the API is asked in the background.
+     */
+    public boolean hasVoted(long userId) {
+        long now = System.currentTimeMillis();
+        if (votes.get(userId, 0) > now)
+            return true;
+        if (checkedUntil.get(userId, 0) <= now)
+            check(userId);
+        return false;
+    }
+
+    /**
+     * Asks the API whether the user voted, concurrent checks for the same user share one request
+     */
+    public CompletableFuture<Boolean> check(long userId) {
+        if (votes.get(userId, 0) > System.currentTimeMillis())
+            return CompletableFuture.completedFuture(true);
+        if (token == null)
+            return CompletableFuture.completedFuture(false);
+
+        return pending.computeIfAbsent(userId, id -> {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            Request request = new Request.Builder()
+                    .url(checkUrl.newBuilder().addQueryParameter("userId", String.valueOf(id)).build())
+                    .addHeader("Authorization", token)
+                    .get()
+                    .build();
+
+            httpClient.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                    log.warn("[VoteService] Error while checking vote of {}", id, e);
+                    complete(false);
+                }
+
+                @Override
+                public void onResponse(@NotNull Call call, @NotNull Response response) {
+                    try (ResponseBody body = response.body()) {
+                        boolean voted = response.isSuccessful() && body != null && new JSONObject(body.string()).getInt("voted") == 1;
+                        if (voted)
+                            // The API does not tell when the vote happened, so it is assumed to be fresh
+                            recordVote(id, System.currentTimeMillis() + VOTE_DURATION);
+                        else
+                            checkedUntil.put(id, System.currentTimeMillis() + NEGATIVE_TTL);
+                        complete(voted);
+                    } catch (IOException | JSONException e) {
+                        log.warn("[VoteService] Invalid vote response for {}", id, e);
+                        complete(false);
+                    }
+                }
+
+                private void complete(boolean voted) {
+                    pending.remove(id);
+                    future.complete(voted);
+                }
+            });
+            return future;
+        });
+    }
+
+    /**
+     * Called by the webhook receiver whenever someone votes
+     */
+    public void onVote(long userId) {
+        recordVote(userId, System.currentTimeMillis() + VOTE_DURATION);
+    }
+
+    private void recordVote(long userId, long expiration) {
+        votes.put(userId, expiration);
+        checkedUntil.remove(userId);
+
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement ps = connection.prepareStatement("UPDATE users SET vote_expiration = ? WHERE user_id = ?");
+            ps.setLong(1, expiration);
+            ps.setLong(2, userId);
+            ps.execute();
+        } catch (SQLException e) {
+            log.error("[VoteService] Error while saving vote!", e);
+        }
+    }
+}
@@ -23,9 +23,13 @@ import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
 
@@ -35,32 +39,60 @@ public class TranslationLocale {
 
     private final TranslationManager translationManager;
     private final Locale locale;
-    private final ResourceBundle resourceBundle;
+    private final Map<String, TranslationTemplate> templates;
     private final String languageName;
 
 
     public TranslationLocale(TranslationManager translationManager, Locale locale, String languageName) {
         this.translationManager = translationManager;
         this.locale = locale;
-        this.resourceBundle = getBundle();
+        this.templates = loadTemplates();
         this.languageName = languageName;
     }
 
-    private ResourceBundle getBundle() {
-        try {
-            return new PropertyResourceBundle(new InputStreamReader(ClassLoader.getSystemClassLoader().getResourceAsStream(String.format("translation_%s_%s.properties", locale.getLanguage(), locale.getCountry())), StandardCharsets.UTF_8));
+    private Map<String, TranslationTemplate> loadTemplates() {
+        String fileName = String.format("translation_%s_%s.properties", locale.getLanguage(), locale.getCountry());
+        try (InputStream stream = ClassLoader.getSystemClassLoader().getResourceAsStream(fileName)) {
+            if (stream == null) {
+                log.error(String.format("[Locale] Resource %s was not found", fileName));
+                return Collections.emptyMap();
+            }
+            ResourceBundle bundle = new PropertyResourceBundle(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            Map<String, TranslationTemplate> templates = new HashMap<>();
+            for (String key : bundle.keySet())
+                templates.put(key, new TranslationTemplate(bundle.getString(key)));
+            return Collections.unmodifiableMap(templates);
         } catch (IOException e) {
             log.catching(e);
-            return null;
+            return Collections.emptyMap();
         }
     }
 
     public String translate(String key) {
-        if (resourceBundle.containsKey(key))
-            return resourceBundle.getString(key);
-        else {
-            log.warn(String.format("[Locale] Key %s was not found for language %s", key, locale.getLanguage()));
-            return translationManager.getDefaultLocale().translate(key);
+        return getTemplate(key).getRaw();
+    }
+
+    /**
+     * Translates the key and fills its placeholders, equivalent to {@code String.format(translate(key), args)}
+     *
+     * @param key  the key of the translation
+     * @param args the values for the placeholders
+     * @return the formatted translation
+     */
+    public String translate(String key, Object... args) {
+        return getTemplate(key).format(args);
+    }
+
+    public TranslationTemplate getTemplate(String key) {
+        TranslationTemplate template = templates.get(key);
+        if (template != null)
+            return template;
+        TranslationLocale defaultLocale = translationManager.getDefaultLocale();
+        if (defaultLocale == null || defaultLocale == this) {
+            log.error(String.format("TranslationLocale for '%s' missing in default locale %s", key, languageName));
+            return new TranslationTemplate(String.format("Missing translation for %s.", key));
         }
+        log.warn(String.format("[Locale] Key %s was not found for language %s", key, locale.getLanguage()));
+        return defaultLocale.getTemplate(key);
     }
 }
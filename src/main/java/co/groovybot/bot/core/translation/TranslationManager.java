@@ -24,9 +24,11 @@ import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Log4j2
 public class TranslationManager {
@@ -35,37 +37,36 @@ public class TranslationManager {
     private final List<TranslationLocale> locales;
     @Getter
     private final TranslationLocale defaultLocale;
+    private final Map<Locale, TranslationLocale> localesByLocale;
 
     public TranslationManager() {
-        this.defaultLocale = new TranslationLocale(this, new Locale("en", "US"), "English (United States)") {
-            @Override
-            public String translate(String key) {
-                if (getResourceBundle().containsKey(key))
-                    return getResourceBundle().getString(key);
-                else {
-                    log.error(String.format("TranslationLocale for '%s' missing in default locale %s", key, defaultLocale.getLanguageName()));
-                    return String.format("Missing translation for %s.", key);
-                }
-            }
-        };
+        this.defaultLocale = new TranslationLocale(this, new Locale("en", "US"), "English (United States)");
 
-        locales = new ArrayList<>();
+        List<TranslationLocale> locales = new ArrayList<>();
         locales.add(defaultLocale);
         locales.add(new TranslationLocale(this, new Locale("zh", "TW"), "Chinese (Traditional)"));
         locales.add(new TranslationLocale(this, new Locale("fr", "FR"), "French (France)"));
         //locales.add(new TranslationLocale(this, new Locale("nl", "NL"), "Dutch (Netherlands)"));
         //locales.add(new TranslationLocale(this, new Locale("de", "DE"), "German (Germany)"));
+        this.locales = Collections.unmodifiableList(locales);
+
+        Map<Locale, TranslationLocale> localesByLocale = new HashMap<>();
+        locales.forEach(locale -> localesByLocale.put(locale.getLocale(), locale));
+        this.localesByLocale = Collections.unmodifiableMap(localesByLocale);
     }
 
+    /**
+     * @return the matching locale or the default locale if the language is not translated
+     */
     public TranslationLocale getLocaleByLocale(Locale locale) {
-        return locales.parallelStream().filter(locale1 -> locale1.getLocale().equals(locale)).collect(Collectors.toList()).get(0);
+        return localesByLocale.getOrDefault(locale, defaultLocale);
     }
 
     public boolean isTranslated(Locale locale) {
-        return !locales.parallelStream().filter(locale1 -> locale1.getLocale().equals(locale)).collect(Collectors.toList()).isEmpty();
+        return localesByLocale.containsKey(locale);
     }
 
-    public TranslationLocale getLocaleByUser(String userId) {
-        return getLocaleByLocale(EntityProvider.getUser(Long.parseLong(userId)).getLocale());
+    public TranslationLocale getLocaleByUser(long userId) {
+        return getLocaleByLocale(EntityProvider.getUser(userId).getLocale());
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.translation;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A translation string split around its {@code %s} placeholders once at load time, so formatting is plain concatenation
+ */
+public class TranslationTemplate {
+
+    @Getter
+    private final String raw;
+    private final String[] segments;
+
+    TranslationTemplate(String raw) {
+        this.raw = raw;
+        this.segments = compile(raw);
+    }
+
+    /**
+     * Formats the template like {@link String#format(String, Object...)} would
+     *
+     * @param args the values for the placeholders
+     * @return the formatted String
+     */
+    public String format(Object... args) {
+        if (segments == null || args.length < segments.length - 1)
+            return String.format(raw, args);
+        if (segments.length == 1)
+            return segments[0];
+        StringBuilder builder = new StringBuilder(raw.length() + 16 * args.length);
+        builder.append(segments[0]);
+        for (int i = 1; i < segments.length; i++)
+            builder.append(args[i - 1]).append(segments[i]);
+        return builder.toString();
+    }
+
+    /**
+     * @return the literal parts between the placeholders or null if the string uses anything besides {@code %s} and {@code %%}
+     */
+    private static String[] compile(String raw) {
+        if (raw.indexOf('%') < 0)
+            return new String[]{raw};
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '%') {
+                current.append(c);
+                continue;
+            }
+            if (i + 1 >= raw.length())
+                return null;
+            char next = raw.charAt(++i);
+            if (next == '%')
+                current.append('%');
+            else if (next == 's') {
+                segments.add(current.toString());
+                current.setLength(0);
+            } else
+                return null;
+        }
+        segments.add(current.toString());
+        return segments.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.io;
+
+import co.groovybot.bot.core.premium.VoteService;
+import co.groovybot.bot.util.NameThreadFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.log4j.Log4j2;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Receives the vote webhooks of discordbots.org
+ */
+@Log4j2
+public class VoteWebhookServer implements Closeable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final VoteService voteService;
+    private final byte[] secret;
+
+    public VoteWebhookServer(VoteService voteService, int port, String secret) throws IOException {
+        if (secret == null || secret.isEmpty())
+            throw new IllegalArgumentException("No webhook secret configured");
+
+        this.voteService = voteService;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.executor = Executors.newSingleThreadExecutor(new NameThreadFactory("VoteWebhook"));
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/votes", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("[VoteWebhook] Listening for votes on port {}", server.getAddress().getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!isAuthorized(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+
+            try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+                JSONObject vote = new JSONObject(new JSONTokener(reader));
+                voteService.onVote(Long.parseLong(vote.getString("user")));
+            } catch (JSONException | NumberFormatException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            exchange.sendResponseHeaders(204, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isAuthorized(String authorization) {
+        // Constant time comparison, so the secret cannot be guessed from response times
+        return authorization != null && MessageDigest.isEqual(secret, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+}
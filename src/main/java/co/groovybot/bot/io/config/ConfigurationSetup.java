@@ -62,6 +62,11 @@ public class ConfigurationSetup {
         settings.put("prefix", "g!");
         settings.put("shards", 10);
         settings.put("voice", "default");
+        settings.put("resolve_lookahead", 3);
+        settings.put("restore_connects_per_second", 5);
+        settings.put("command_threads", 32);
+        settings.put("command_queue_per_guild", 5);
+        settings.put("command_queue_total", 2000);
         configuration.addDefault("settings", settings);
 
         // Create array for owners
@@ -97,6 +102,14 @@ public class ConfigurationSetup {
         statuspage.put("api_key", "defaultvalue");
         configuration.addDefault("statuspage", statuspage);
 
+        // Create object for votes
+        final JSONObject votes = new JSONObject();
+        votes.put("webhook_port", 0);
+        votes.put("webhook_secret", "defaultvalue");
+        votes.put("api_url", "https://discordbots.org");
+        votes.put("bot_id", "402116404301660181");
+        configuration.addDefault("votes", votes);
+
         // Create object for influxdb
         final JSONObject influxdb = new JSONObject();
         influxdb.put("username", "defaultvalue");
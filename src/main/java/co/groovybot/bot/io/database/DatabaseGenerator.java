@@ -89,6 +89,20 @@ public class DatabaseGenerator {
                 "  auto_play        boolean\n" +
                 ");");
 
+        postgreSQL.addDefault(() -> "create table if not exists track_resolutions\n" +
+                "(\n" +
+                "  source      varchar(16)       not null,\n" +
+                "  external_id varchar           not null,\n" +
+                "  video_id    varchar,\n" +
+                "  resolved_at bigint            not null,\n" +
+                "  hits        integer default 1 not null,\n" +
+                "  constraint track_resolutions_pkey\n" +
+                "    primary key (source, external_id)\n" +
+                ");");
+
+        postgreSQL.addDefault(() -> "create index if not exists track_resolutions_hits_idx\n" +
+                "  on track_resolutions (hits desc);");
+
         postgreSQL.addDefault(() -> "create table if not exists users\n" +
                 "(\n" +
                 "  user_id    bigint                not null\n" +
@@ -108,5 +122,29 @@ public class DatabaseGenerator {
                 ");");
 
         postgreSQL.createDatabases();
+
+        // Never edit an applied migration, add a new one instead
+        new SchemaMigrator(postgreSQL.getDataSource())
+                .add(1, "Binary track lists",
+                        "alter table playlists add column if not exists tracks_data bytea;",
+                        "alter table queues add column if not exists queue_data bytea;")
+                .add(2, "Vote expiration of users",
+                        "alter table users add column if not exists vote_expiration bigint default 0 not null;")
+                .add(3, "Playlist tracks",
+                        "create table if not exists playlist_tracks\n" +
+                                "(\n" +
+                                "  playlist_id bigint not null\n" +
+                                "    constraint playlist_tracks_playlists_id_fk\n" +
+                                "      references playlists (id)\n" +
+                                "      on delete cascade,\n" +
+                                "  position    bigint not null,\n" +
+                                "  track       bytea  not null,\n" +
+                                "  constraint playlist_tracks_pkey\n" +
+                                "    primary key (playlist_id, position)\n" +
+                                ");")
+                .add(4, "Playlist lookup indexes",
+                        "create index if not exists playlists_author_id_name_index on playlists (author_id, name);",
+                        "create index if not exists playlists_public_count_index on playlists (count desc) where public;")
+                .migrate();
     }
 }
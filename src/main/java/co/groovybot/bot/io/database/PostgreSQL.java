@@ -33,6 +33,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Log4j2
 public class PostgreSQL implements Closeable {
@@ -60,6 +61,8 @@ public class PostgreSQL implements Closeable {
         hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
         hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
         hikariConfig.setMinimumIdle(15);
+        // Logs a stack trace for every connection which is held longer than this, pointing at unclosed connections
+        hikariConfig.setLeakDetectionThreshold(TimeUnit.SECONDS.toMillis(30));
 
         try {
             dataSource = new HikariDataSource(hikariConfig);
@@ -0,0 +1,85 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.io.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Explains the queries of hot paths on startup and warns about those no index can serve.
+ * Sequential scans are disabled while explaining, so the planner only picks one if there is no alternative,
+ * no matter how small the tables currently are.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class QueryPlanCheck {
+
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("guild", "SELECT * FROM guilds WHERE id = 1");
+        QUERIES.put("user", "SELECT * FROM users WHERE user_id = 1");
+        QUERIES.put("playlists of author", "SELECT * FROM playlists WHERE author_id = 1");
+        QUERIES.put("playlist by name", "DELETE FROM playlists WHERE author_id = 1 AND name = 'name'");
+        QUERIES.put("playlist by id", "SELECT * FROM playlists WHERE id = 1");
+        QUERIES.put("top playlists", "SELECT * FROM playlists WHERE public = TRUE ORDER BY count DESC LIMIT 10");
+        QUERIES.put("playlist tracks", "SELECT playlist_id, position, track FROM playlist_tracks WHERE playlist_id = ANY('{1}') ORDER BY playlist_id, position");
+        QUERIES.put("playlist track count", "SELECT count(*) FROM playlist_tracks WHERE playlist_id = 1");
+    }
+
+    private final HikariDataSource dataSource;
+
+    public void run() {
+        int warnings = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                    StringBuilder plan = new StringBuilder();
+                    ResultSet rs = statement.executeQuery("EXPLAIN " + query.getValue());
+                    while (rs.next())
+                        plan.append('\n').append(rs.getString(1));
+
+                    if (plan.indexOf("Seq Scan") != -1) {
+                        log.warn("[QueryPlanCheck] Query \"{}\" is not served by an index:{}", query.getKey(), plan);
+                        warnings++;
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            log.error("[QueryPlanCheck] Error while explaining queries!", e);
+            return;
+        }
+
+        if (warnings == 0)
+            log.info("[QueryPlanCheck] All {} checked queries use an index", QUERIES.size());
+    }
+}
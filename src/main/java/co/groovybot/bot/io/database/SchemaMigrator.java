@@ -0,0 +1,137 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+package co.groovybot.bot.io.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Applies numbered schema changes exactly once, recording them in {@code schema_version}.
+ * Applied migrations must never be edited, a changed checksum stops all further migrations.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class SchemaMigrator {
+
+    // Serializes migrations when several instances start at the same time
+    private static final long LOCK_KEY = 0x67726F6F7679L;
+
+    private final HikariDataSource dataSource;
+    private final Map<Integer, Migration> migrations = new TreeMap<>();
+
+    public SchemaMigrator add(int version, String description, String... statements) {
+        if (migrations.put(version, new Migration(version, description, statements)) != null)
+            throw new IllegalArgumentException("Duplicate schema version " + version);
+        return this;
+    }
+
+    public void migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists schema_version\n" +
+                        "(\n" +
+                        "  version      integer not null\n" +
+                        "    constraint schema_version_pkey\n" +
+                        "    primary key,\n" +
+                        "  description  varchar not null,\n" +
+                        "  checksum     varchar not null,\n" +
+                        "  installed_at bigint  not null\n" +
+                        ");");
+                statement.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            }
+
+            try {
+                Map<Integer, String> applied = new HashMap<>();
+                ResultSet rs = connection.prepareStatement("SELECT version, checksum FROM schema_version").executeQuery();
+                while (rs.next())
+                    applied.put(rs.getInt("version"), rs.getString("checksum"));
+
+                for (Migration migration : migrations.values()) {
+                    String checksum = applied.get(migration.getVersion());
+                    if (checksum == null)
+                        apply(connection, migration);
+                    else if (!checksum.equals(migration.getChecksum())) {
+                        log.error("[SchemaMigrator] Checksum of applied migration {} ({}) changed, skipping all further migrations!", migration.getVersion(), migration.getDescription());
+                        return;
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+        } catch (SQLException e) {
+            log.error("[SchemaMigrator] Error while migrating schema!", e);
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : migration.getStatements())
+                statement.execute(sql);
+
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO schema_version (version, description, checksum, installed_at) VALUES (?, ?, ?, ?)");
+            ps.setInt(1, migration.getVersion());
+            ps.setString(2, migration.getDescription());
+            ps.setString(3, migration.getChecksum());
+            ps.setLong(4, System.currentTimeMillis());
+            ps.execute();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        log.info("[SchemaMigrator] Applied migration {} ({}) in {}ms", migration.getVersion(), migration.getDescription(), System.currentTimeMillis() - start);
+    }
+
+    @Getter
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+        private final String checksum;
+
+        private Migration(int version, String description, String[] statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+            CRC32 crc = new CRC32();
+            for (String statement : statements)
+                crc.update(statement.getBytes(StandardCharsets.UTF_8));
+            this.checksum = Long.toHexString(crc.getValue());
+        }
+    }
+}
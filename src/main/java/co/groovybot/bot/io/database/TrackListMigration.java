@@ -0,0 +1,160 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.io.database;
+
+import co.groovybot.bot.core.audio.codec.TrackListCodec;
+import co.groovybot.bot.core.audio.codec.TrackListReader;
+import co.groovybot.bot.core.audio.codec.TrackListWriter;
+import co.groovybot.bot.core.audio.playlists.PlaylistTrackRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Converts track lists still stored as JSON arrays of base64 strings into the binary {@link TrackListCodec} format
+ * and moves playlist tracks into their own rows in {@code playlist_tracks}
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class TrackListMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final HikariDataSource dataSource;
+
+    public void migrate() {
+        migrate("playlists", "id", "tracks", "tracks_data");
+        migrate("queues", "guild_id", "queue", "queue_data");
+        migratePlaylistTracks();
+    }
+
+    private void migrate(String table, String key, String legacyColumn, String dataColumn) {
+        long start = System.currentTimeMillis();
+        int migrated = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            PreparedStatement select = connection.prepareStatement(String.format("SELECT %s, %s FROM %s WHERE %s IS NULL AND %s IS NOT NULL", key, legacyColumn, table, dataColumn, legacyColumn));
+            select.setFetchSize(BATCH_SIZE);
+            PreparedStatement update = connection.prepareStatement(String.format("UPDATE %s SET %s = ?, %s = NULL WHERE %s = ?", table, dataColumn, legacyColumn, key));
+
+            ResultSet rs = select.executeQuery();
+            while (rs.next()) {
+                try {
+                    update.setBytes(1, convert(rs.getString(legacyColumn)));
+                } catch (IOException | JSONException | IllegalArgumentException e) {
+                    log.warn("[TrackListMigration] Could not convert {} of {} {}", legacyColumn, table, rs.getLong(key), e);
+                    continue;
+                }
+                update.setLong(2, rs.getLong(key));
+                update.addBatch();
+
+                if (++migrated % BATCH_SIZE == 0)
+                    update.executeBatch();
+            }
+            update.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            log.error("[TrackListMigration] Error while migrating {}!", table, e);
+            return;
+        }
+
+        if (migrated > 0)
+            log.info("[TrackListMigration] Migrated {} rows of {} in {}ms", migrated, table, System.currentTimeMillis() - start);
+    }
+
+    private void migratePlaylistTracks() {
+        long start = System.currentTimeMillis();
+        int migrated = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            PreparedStatement select = connection.prepareStatement("SELECT id, tracks_data FROM playlists WHERE tracks_data IS NOT NULL");
+            select.setFetchSize(BATCH_SIZE);
+            PreparedStatement insert = connection.prepareStatement("INSERT INTO playlist_tracks (playlist_id, position, track) VALUES (?, ?, ?) ON CONFLICT DO NOTHING");
+            PreparedStatement clear = connection.prepareStatement("UPDATE playlists SET tracks_data = NULL WHERE id = ?");
+
+            ResultSet rs = select.executeQuery();
+            while (rs.next()) {
+                long id = rs.getLong("id");
+                List<byte[]> blobs = new ArrayList<>();
+                try (TrackListReader reader = new TrackListReader(new ByteArrayInputStream(rs.getBytes("tracks_data")))) {
+                    byte[] blob;
+                    while ((blob = reader.readBlob()) != null)
+                        blobs.add(blob);
+                } catch (IOException e) {
+                    log.warn("[TrackListMigration] Could not move tracks of playlist {}", id, e);
+                    continue;
+                }
+
+                long position = 0;
+                for (byte[] blob : blobs) {
+                    position += PlaylistTrackRepository.GAP;
+                    insert.setLong(1, id);
+                    insert.setLong(2, position);
+                    insert.setBytes(3, blob);
+                    insert.addBatch();
+                }
+                clear.setLong(1, id);
+                clear.addBatch();
+
+                if (++migrated % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    clear.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            clear.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            log.error("[TrackListMigration] Error while moving playlist tracks!", e);
+            return;
+        }
+
+        if (migrated > 0)
+            log.info("[TrackListMigration] Moved tracks of {} playlists into playlist_tracks in {}ms", migrated, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Copies the already encoded tracks over without decoding them, so tracks of currently unavailable sources survive
+     */
+    private byte[] convert(String legacy) throws IOException {
+        JSONArray tracks = new JSONArray(legacy);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(legacy.length());
+        try (TrackListWriter writer = new TrackListWriter(outputStream, true, TrackListCodec.shouldCompress(tracks.length()))) {
+            for (Object track : tracks)
+                writer.writeBlob(Base64.getDecoder().decode(track.toString()));
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -5,7 +5,6 @@ import co.groovybot.bot.core.audio.MusicPlayer;
 import co.groovybot.bot.core.command.CommandEvent;
 import co.groovybot.bot.core.command.interaction.InteractableMessage;
 import co.groovybot.bot.core.command.permission.Permissions;
-import co.groovybot.bot.core.command.permission.UserPermissions;
 import co.groovybot.bot.core.entity.EntityProvider;
 import co.groovybot.bot.util.EmbedUtil;
 import co.groovybot.bot.util.SafeMessage;
@@ -20,20 +19,27 @@ import net.dv8tion.jda.core.hooks.SubscribeEvent;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.regex.Pattern;
 
 @RequiredArgsConstructor
 @Log4j2
 @SuppressWarnings("unused")
 public class AutoQueueListener {
 
+    private static final Pattern SPOTIFY = Pattern.compile("https?://?(.*)?spotify\\.com[^\\s]+");
+    private static final Pattern YOUTUBE = Pattern.compile("https?://?(.*)?youtube\\.com[^\\s]+");
+    private static final Pattern YOUTUBE_SHORT = Pattern.compile("https?://?(.*)?youtu\\.be[^\\s]+");
+    private static final Pattern SOUNDCLOUD = Pattern.compile("https?://?(.*)?soundcloud\\.com[^\\s]+");
+    private static final Pattern TWITCH = Pattern.compile("https?://?(.*)?twitch\\.tv[^\\s]+");
+
     private final GroovyBot bot;
 
     @SubscribeEvent
     private void handleURLMessage(GuildMessageReceivedEvent event) {
-        if (!event.getMessage().getContentStripped().matches("https?://?(.*)?spotify\\.com[^\\s]+") && !event.getMessage().getContentRaw().matches("https?://?(.*)?youtube\\.com[^\\s]+") && !event.getMessage().getContentDisplay().matches("https?://?(.*)?youtu\\.be[^\\s]+") && !event.getMessage().getContentDisplay().matches("https?://?(.*)?soundcloud\\.com[^\\s]+") && !event.getMessage().getContentDisplay().matches("https?://?(.*)?twitch\\.tv[^\\s]+"))
+        if (!SPOTIFY.matcher(event.getMessage().getContentStripped()).matches() && !YOUTUBE.matcher(event.getMessage().getContentRaw()).matches() && !YOUTUBE_SHORT.matcher(event.getMessage().getContentDisplay()).matches() && !SOUNDCLOUD.matcher(event.getMessage().getContentDisplay()).matches() && !TWITCH.matcher(event.getMessage().getContentDisplay()).matches())
             return;
 
-        if (!Permissions.tierOne().isCovered(new UserPermissions(EntityProvider.getUser(event.getAuthor().getIdLong()), bot), new CommandEvent(event, bot, new String[]{}, "listenerFillingSystem")))
+        if (event.getMember() == null || !Permissions.tierOne().isCovered(EntityProvider.getUser(event.getAuthor().getIdLong()).getPermissions(), event.getMember()))
             return;
 
         MusicPlayer player = bot.getMusicPlayerManager().getPlayer(event.getGuild(), event.getChannel());
@@ -0,0 +1,180 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread safe open addressing map from long keys to long values which does not box on lookups.
+ * Reads are optimistic and only fall back to a lock while a write is in progress. The key {@code 0} is reserved.
+ */
+public class LongLongMap {
+
+    private static final float LOAD_FACTOR = 0.5F;
+
+    private final StampedLock lock = new StampedLock();
+    // Keys and values interleaved in one array, so an optimistic read always sees a consistent pair of both
+    private long[] table;
+    private int size;
+
+    public LongLongMap() {
+        this(64);
+    }
+
+    public LongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.table = new long[capacity * 2];
+    }
+
+    public long get(long key, long defaultValue) {
+        long stamp = lock.tryOptimisticRead();
+        long value = find(table, key, defaultValue);
+        if (lock.validate(stamp))
+            return value;
+
+        stamp = lock.readLock();
+        try {
+            return find(table, key, defaultValue);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(long key, long value) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(table, key);
+            if (table[slot] != key) {
+                table[slot] = key;
+                size++;
+            }
+            table[slot + 1] = value;
+            if (size > capacity() * LOAD_FACTOR)
+                resize(capacity() << 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long key) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(table, key);
+            if (table[slot] != key)
+                return;
+            table[slot] = 0;
+            table[slot + 1] = 0;
+            size--;
+            shiftBack(slot);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(table, 0);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int capacity() {
+        return table.length >> 1;
+    }
+
+    private static long find(long[] table, long key, long defaultValue) {
+        int mask = (table.length >> 1) - 1;
+        // Bounded so a torn optimistic read can never loop forever
+        for (int i = 0, index = hash(key) & mask; i <= mask; i++, index = (index + 1) & mask) {
+            long current = table[index << 1];
+            if (current == key)
+                return table[(index << 1) + 1];
+            if (current == 0)
+                return defaultValue;
+        }
+        return defaultValue;
+    }
+
+    private static int slotOf(long[] table, long key) {
+        int mask = (table.length >> 1) - 1;
+        int index = hash(key) & mask;
+        while (table[index << 1] != 0 && table[index << 1] != key)
+            index = (index + 1) & mask;
+        return index << 1;
+    }
+
+    /**
+     * Moves the entries following a removed slot back so no probe sequence is interrupted
+     */
+    private void shiftBack(int freeSlot) {
+        int mask = capacity() - 1;
+        int free = freeSlot >> 1;
+        int index = (free + 1) & mask;
+        while (table[index << 1] != 0) {
+            int home = hash(table[index << 1]) & mask;
+            if (((index - home) & mask) >= ((index - free) & mask)) {
+                table[free << 1] = table[index << 1];
+                table[(free << 1) + 1] = table[(index << 1) + 1];
+                table[index << 1] = 0;
+                table[(index << 1) + 1] = 0;
+                free = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        long[] resized = new long[capacity * 2];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0) {
+                int slot = slotOf(resized, old[i]);
+                resized[slot] = old[i];
+                resized[slot + 1] = old[i + 1];
+            }
+        }
+        table = resized;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0)
+            throw new IllegalArgumentException("Key 0 is reserved");
+    }
+}
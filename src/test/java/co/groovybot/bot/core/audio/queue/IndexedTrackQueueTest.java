@@ -0,0 +1,289 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.queue;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static co.groovybot.bot.core.audio.queue.TestTracks.track;
+import static co.groovybot.bot.core.audio.queue.TestTracks.tracks;
+import static org.junit.Assert.*;
+
+public class IndexedTrackQueueTest {
+
+    private static IndexedTrackQueue queueOf(List<AudioTrack> tracks) {
+        IndexedTrackQueue queue = new IndexedTrackQueue();
+        queue.addAll(tracks);
+        return queue;
+    }
+
+    @Test
+    public void addAllKeepsOrder() {
+        List<AudioTrack> tracks = tracks(1000);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        assertEquals(1000, queue.size());
+        assertEquals(tracks, queue.snapshot());
+        for (int i = 0; i < tracks.size(); i++)
+            assertSame(tracks.get(i), queue.get(i));
+    }
+
+    @Test
+    public void addAllAppendsToExistingTracks() {
+        List<AudioTrack> tracks = tracks(20);
+        IndexedTrackQueue queue = queueOf(tracks.subList(0, 5));
+        queue.addAll(tracks.subList(5, 20));
+
+        assertEquals(tracks, queue.snapshot());
+    }
+
+    @Test
+    public void queueOperations() {
+        List<AudioTrack> tracks = tracks(3);
+        IndexedTrackQueue queue = new IndexedTrackQueue();
+
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        queue.add(tracks.get(1));
+        queue.add(tracks.get(2));
+        queue.addFirst(tracks.get(0));
+
+        assertSame(tracks.get(0), queue.peek());
+        assertSame(tracks.get(0), queue.poll());
+        assertSame(tracks.get(1), queue.poll());
+        assertSame(tracks.get(2), queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void insertAndRemoveAtIndex() {
+        List<AudioTrack> tracks = tracks(10);
+        IndexedTrackQueue queue = queueOf(tracks);
+        AudioTrack inserted = track(100);
+
+        queue.add(4, inserted);
+        assertSame(inserted, queue.get(4));
+        assertSame(tracks.get(4), queue.get(5));
+        assertEquals(11, queue.size());
+
+        assertSame(inserted, queue.remove(4));
+        assertEquals(tracks, queue.snapshot());
+
+        queue.add(10, inserted);
+        assertSame(inserted, queue.get(10));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBounds() {
+        queueOf(tracks(3)).get(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addOutOfBounds() {
+        queueOf(tracks(3)).add(4, track(100));
+    }
+
+    @Test
+    public void moveForwardAndBackward() {
+        List<AudioTrack> tracks = tracks(6);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        queue.move(0, 4);
+        List<AudioTrack> expected = new ArrayList<>(tracks);
+        expected.add(4, expected.remove(0));
+        assertEquals(expected, queue.snapshot());
+
+        queue.move(4, 0);
+        assertEquals(tracks, queue.snapshot());
+    }
+
+    @Test
+    public void moveRange() {
+        List<AudioTrack> tracks = tracks(10);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        // [0 1 2 3 4 5 6 7 8 9] -> move 2..4 so it starts at 6 -> [0 1 5 6 7 8 2 3 4 9]
+        queue.moveRange(2, 3, 6);
+        List<AudioTrack> expected = new ArrayList<>(tracks.subList(0, 2));
+        expected.addAll(tracks.subList(5, 9));
+        expected.addAll(tracks.subList(2, 5));
+        expected.add(tracks.get(9));
+        assertEquals(expected, queue.snapshot());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void moveRangeOutOfBounds() {
+        queueOf(tracks(10)).moveRange(8, 3, 0);
+    }
+
+    @Test
+    public void pageAndHead() {
+        List<AudioTrack> tracks = tracks(30);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        assertEquals(tracks.subList(10, 20), queue.page(10, 20));
+        assertEquals(Collections.emptyList(), queue.page(30, 30));
+        assertEquals(tracks.subList(0, 3), queue.head(3));
+        assertEquals(tracks, queue.head(100));
+        assertEquals(Collections.emptyList(), new IndexedTrackQueue().head(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void pageOutOfBounds() {
+        queueOf(tracks(30)).page(25, 31);
+    }
+
+    @Test
+    public void removeFirst() {
+        List<AudioTrack> tracks = tracks(10);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        queue.removeFirst(0);
+        assertEquals(10, queue.size());
+        queue.removeFirst(4);
+        assertEquals(tracks.subList(4, 10), queue.snapshot());
+        queue.removeFirst(100);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void removeObjectAndRemoveIf() {
+        List<AudioTrack> tracks = tracks(10);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        assertTrue(queue.remove(tracks.get(3)));
+        assertFalse(queue.remove(track(100)));
+        assertFalse(queue.contains(tracks.get(3)));
+        assertTrue(queue.contains(tracks.get(4)));
+
+        assertTrue(queue.removeIf(track -> track.getDuration() % 2 == 0));
+        assertFalse(queue.removeIf(track -> track.getDuration() % 2 == 0));
+        assertEquals(tracks.stream().filter(track -> track.getDuration() % 2 == 1 && track.getDuration() != 3).collect(Collectors.toList()), queue.snapshot());
+
+        assertTrue(queue.removeIf(track -> true));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void iteratorRemove() {
+        List<AudioTrack> tracks = tracks(10);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        Iterator<AudioTrack> iterator = queue.iterator();
+        while (iterator.hasNext())
+            if (iterator.next().getDuration() < 5)
+                iterator.remove();
+        assertEquals(tracks.subList(5, 10), queue.snapshot());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorDetectsModification() {
+        IndexedTrackQueue queue = queueOf(tracks(10));
+        for (AudioTrack track : queue)
+            queue.add(track(100));
+    }
+
+    @Test
+    public void streamAndForEachSeeAllTracks() {
+        List<AudioTrack> tracks = tracks(100);
+        IndexedTrackQueue queue = queueOf(tracks);
+
+        assertEquals(tracks, queue.stream().collect(Collectors.toList()));
+        List<AudioTrack> visited = new ArrayList<>();
+        queue.forEach(visited::add);
+        assertEquals(tracks, visited);
+    }
+
+    @Test
+    public void matchesListUnderRandomOperations() {
+        Random random = new Random(42);
+        List<AudioTrack> expected = new ArrayList<>(tracks(200));
+        IndexedTrackQueue queue = queueOf(expected);
+        int next = expected.size();
+
+        for (int step = 0; step < 20000; step++) {
+            int size = expected.size();
+            switch (random.nextInt(6)) {
+                case 0: {
+                    int index = random.nextInt(size + 1);
+                    AudioTrack track = track(next++);
+                    expected.add(index, track);
+                    queue.add(index, track);
+                    break;
+                }
+                case 1:
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        assertSame(expected.remove(index), queue.remove(index));
+                    }
+                    break;
+                case 2:
+                    if (size > 0) {
+                        int from = random.nextInt(size);
+                        int to = random.nextInt(size);
+                        expected.add(to, expected.remove(from));
+                        queue.move(from, to);
+                    }
+                    break;
+                case 3:
+                    if (size > 0) {
+                        int count = random.nextInt(Math.min(size, 20)) + 1;
+                        int from = random.nextInt(size - count + 1);
+                        int to = random.nextInt(size - count + 1);
+                        List<AudioTrack> range = new ArrayList<>(expected.subList(from, from + count));
+                        expected.subList(from, from + count).clear();
+                        expected.addAll(to, range);
+                        queue.moveRange(from, count, to);
+                    }
+                    break;
+                case 4: {
+                    int count = random.nextInt(5);
+                    expected.subList(0, Math.min(count, size)).clear();
+                    queue.removeFirst(count);
+                    break;
+                }
+                default: {
+                    List<AudioTrack> added = new ArrayList<>();
+                    for (int i = random.nextInt(10); i > 0; i--)
+                        added.add(track(next++));
+                    expected.addAll(added);
+                    queue.addAll(added);
+                }
+            }
+
+            assertEquals(expected.size(), queue.size());
+            if (step % 500 == 0)
+                assertEquals(expected, queue.snapshot());
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.get(index), queue.get(index));
+            }
+        }
+        assertEquals(expected, queue.snapshot());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.audio.queue;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates lightweight tracks which only know their number, for tests and benchmarks of the queue
+ */
+public final class TestTracks {
+
+    private TestTracks() {
+    }
+
+    public static AudioTrack track(int number) {
+        return (AudioTrack) Proxy.newProxyInstance(AudioTrack.class.getClassLoader(), new Class[]{AudioTrack.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return number;
+                case "toString":
+                    return "track-" + number;
+                case "getIdentifier":
+                    return String.valueOf(number);
+                case "getDuration":
+                    return (long) number;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    public static List<AudioTrack> tracks(int count) {
+        List<AudioTrack> tracks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            tracks.add(track(i));
+        return tracks;
+    }
+}
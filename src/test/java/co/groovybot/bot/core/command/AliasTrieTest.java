@@ -0,0 +1,107 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.command;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AliasTrieTest {
+
+    private static AliasTrie<String> trieOf(String... aliases) {
+        AliasTrie<String> trie = new AliasTrie<>();
+        for (String alias : aliases)
+            trie.put(alias, alias.toLowerCase());
+        return trie;
+    }
+
+    @Test
+    public void matchesIgnoringCase() {
+        AliasTrie<String> trie = trieOf("play", "NowPlaying");
+
+        AliasTrie.Node<String> match = trie.match("PlAy song", 0);
+        assertNotNull(match);
+        assertEquals("play", match.getAlias());
+        assertEquals("play", match.getValue());
+        assertEquals(4, match.length());
+
+        match = trie.match("nowplaying", 0);
+        assertNotNull(match);
+        assertEquals("nowplaying", match.getAlias());
+    }
+
+    @Test
+    public void requiresWhitespaceOrEndAfterAlias() {
+        AliasTrie<String> trie = trieOf("play");
+
+        assertNotNull(trie.match("play", 0));
+        assertNotNull(trie.match("play song", 0));
+        assertNotNull(trie.match("play\tsong", 0));
+        assertNotNull(trie.match("play\nsong", 0));
+        assertNotNull(trie.match("play\r\nsong", 0));
+        assertNull(trie.match("plays", 0));
+        assertNull(trie.match("play!", 0));
+        assertNull(trie.match("pla", 0));
+    }
+
+    @Test
+    public void prefersLongestAlias() {
+        AliasTrie<String> trie = trieOf("p", "pl", "play", "playlist");
+
+        assertEquals("playlist", trie.match("playlist load", 0).getAlias());
+        assertEquals("play", trie.match("play song", 0).getAlias());
+        assertEquals("pl", trie.match("pl", 0).getAlias());
+        assertEquals("p", trie.match("p song", 0).getAlias());
+        // A longer word is no match even if one of its prefixes is an alias
+        assertNull(trie.match("plays", 0));
+        assertNull(trie.match("playlists", 0));
+    }
+
+    @Test
+    public void matchesAtOffset() {
+        AliasTrie<String> trie = trieOf("skip");
+
+        assertEquals("skip", trie.match("g!skip 3", 2).getAlias());
+        assertNull(trie.match("g!skip 3", 1));
+        assertNull(trie.match("skip", 4));
+        assertNull(trie.match("", 0));
+    }
+
+    @Test
+    public void matchesSubCommandsIgnoringCase() {
+        AliasTrie<String> subCommands = trieOf("add", "remove", "rm");
+        String content = "g!blacklist   REMOVE #general";
+        int offset = CommandParser.skipWhitespace(content, "g!blacklist".length());
+
+        AliasTrie.Node<String> match = subCommands.match(content, offset);
+        assertNotNull(match);
+        assertEquals("remove", match.getValue());
+        assertArrayEquals(new String[]{"#general"}, CommandParser.tokenize(content, offset + match.length()));
+
+        assertEquals("rm", subCommands.match("Rm", 0).getValue());
+        assertNull(subCommands.match("adder", 0));
+    }
+
+    @Test
+    public void whitespaceMatchesRegexClass() {
+        for (char c = 0; c < 0x3000; c++)
+            assertEquals("char " + (int) c, String.valueOf(c).matches("\\s"), AliasTrie.isWhitespace(c));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.command;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CommandParserTest {
+
+    private static final String SELF_ID = "404217304734433291";
+
+    @Test
+    public void prefixIgnoresCase() {
+        assertEquals(2, CommandParser.prefixLength("g!play", "g!"));
+        assertEquals(2, CommandParser.prefixLength("G!play", "g!"));
+        assertEquals(3, CommandParser.prefixLength("GRV play", "grv"));
+        assertEquals(-1, CommandParser.prefixLength("g play", "g!"));
+        assertEquals(-1, CommandParser.prefixLength("g", "g!"));
+        assertEquals(-1, CommandParser.prefixLength("", "g!"));
+    }
+
+    @Test
+    public void matchesBothMentionForms() {
+        assertEquals(SELF_ID.length() + 3, CommandParser.mentionLength("<@" + SELF_ID + "> play", SELF_ID));
+        assertEquals(SELF_ID.length() + 4, CommandParser.mentionLength("<@!" + SELF_ID + "> play", SELF_ID));
+        assertEquals(SELF_ID.length() + 4, CommandParser.mentionLength("<@!" + SELF_ID + ">", SELF_ID));
+    }
+
+    @Test
+    public void rejectsOtherMentions() {
+        assertEquals(-1, CommandParser.mentionLength("<@" + SELF_ID + "1> play", SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength("<@" + SELF_ID.substring(1) + "> play", SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength("<@" + SELF_ID, SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength("<@&" + SELF_ID + "> play", SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength("<#" + SELF_ID + "> play", SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength(" <@" + SELF_ID + "> play", SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength("<@", SELF_ID));
+        assertEquals(-1, CommandParser.mentionLength("", SELF_ID));
+    }
+
+    @Test
+    public void skipsWhitespace() {
+        assertEquals(2, CommandParser.skipWhitespace("g!play", 2));
+        assertEquals(8, CommandParser.skipWhitespace("g! \t\n\r\f\u000Bplay", 2));
+        assertEquals(4, CommandParser.skipWhitespace("g!  ", 2));
+        assertEquals(4, CommandParser.skipWhitespace("g!  ", 4));
+    }
+
+    @Test
+    public void tokenizesLikeSplit() {
+        String[] contents = {
+                "", " ", "a", " a", "a ", "  a  b  ", "a\tb\nc\r\nd", "one two three",
+                "\u000Ba\fb", "ä ö  ü", "https://youtu.be/dQw4w9WgXcQ   --force"
+        };
+        for (String content : contents) {
+            String trimmed = content.replaceAll("^\\s+|\\s+$", "");
+            String[] expected = trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+            assertArrayEquals(content, expected, CommandParser.tokenize(content, 0));
+        }
+
+        assertArrayEquals(new String[]{"never", "gonna"}, CommandParser.tokenize("g!play never  gonna ", 6));
+        assertArrayEquals(new String[0], CommandParser.tokenize("g!play", 6));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Groovy Bot - The core component of the Groovy Discord music bot
+ *
+ * Copyright (C) 2018  Oskar Lang & Michael Rittmeister & Sergeij Herdt & Yannick Seeger & Justus Kliem & Leon Kappes
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ */
+
+package co.groovybot.bot.core.translation;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+import static org.junit.Assert.*;
+
+public class TranslationTemplateTest {
+
+    private static final String[] BUNDLES = {"translation_en_US.properties", "translation_fr_FR.properties", "translation_zh_TW.properties"};
+    private static final Object[] ARGS = {"Never Gonna Give You Up", 42, null, 13.37, "g!", 'x', -1L};
+
+    private static ResourceBundle load(String name) throws IOException {
+        try (InputStream stream = TranslationTemplateTest.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull("Missing bundle " + name, stream);
+            return new PropertyResourceBundle(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Returns the result of formatting, or the class of the exception that was thrown
+     */
+    private static Object format(String raw, TranslationTemplate template, Object[] args) {
+        try {
+            return template == null ? String.format(raw, args) : template.format(args);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static void assertFormatsLikeStringFormat(String message, String raw) {
+        TranslationTemplate template = new TranslationTemplate(raw);
+        assertEquals(message, raw, template.getRaw());
+        for (int count = 0; count <= ARGS.length; count++) {
+            Object[] args = new Object[count];
+            System.arraycopy(ARGS, 0, args, 0, count);
+            assertEquals(message + " with " + count + " arguments", format(raw, null, args), format(raw, template, args));
+        }
+    }
+
+    @Test
+    public void formatsEveryBundleKeyLikeStringFormat() throws IOException {
+        for (String name : BUNDLES) {
+            ResourceBundle bundle = load(name);
+            assertFalse(name + " is empty", bundle.keySet().isEmpty());
+            for (String key : bundle.keySet())
+                assertFormatsLikeStringFormat(name + " " + key, bundle.getString(key));
+        }
+    }
+
+    @Test
+    public void formatsOtherSpecifiersLikeStringFormat() {
+        String[] raws = {
+                "", "plain", "%s", "%s%s", "`%s` of `%s`", "100%%", "%%s", "%s%%%s", "%d songs", "%5s|", "%-3s|",
+                "%1$s %1$s", "%n", "%", "trailing %", "%S", "%b", "%x"
+        };
+        for (String raw : raws)
+            assertFormatsLikeStringFormat(raw, raw);
+    }
+}